@@ -0,0 +1,37 @@
+package com.jntm.cache;
+
+import com.jntm.event.NavUpdatedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * AI分析结果缓存失效组件
+ * 缓存键已包含净值日期，新净值到达后旧结果不会再命中；
+ * 收到 {@link NavUpdatedEvent} 时整体清空，尽早释放旧结果占用的空间
+ *
+ * @author JNTM Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AIResultCacheInvalidator {
+
+    private final CacheManager cacheManager;
+
+    /**
+     * 净值更新后清空分析结果缓存
+     */
+    @EventListener
+    public void onNavUpdated(NavUpdatedEvent event) {
+        Cache cache = cacheManager.getCache(CacheNames.AI_RESULT);
+        if (cache != null) {
+            cache.clear();
+            log.debug("净值更新后清空AI分析结果缓存: funds={}", event.getFundCodes().size());
+        }
+    }
+}
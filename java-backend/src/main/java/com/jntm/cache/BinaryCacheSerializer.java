@@ -0,0 +1,152 @@
+package com.jntm.cache;
+
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import lombok.extern.slf4j.Slf4j;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4SafeDecompressor;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * 二进制缓存值序列化器
+ * 在编解码器输出外包一层带版本的信封，超过阈值的负载使用LZ4压缩
+ *
+ * 信封格式：
+ * <pre>
+ * [魔数 1B][信封版本 1B][编解码器ID 1B][标志位 1B][原始长度 4B，仅压缩时][负载]
+ * </pre>
+ *
+ * 兼容性：不带魔数的数据视为旧版JSON条目，交给GenericJackson2JsonRedisSerializer读取；
+ * 版本或编解码器无法识别、解码失败的条目按缓存未命中处理，由业务回源后覆盖
+ *
+ * @author JNTM Team
+ * @since 1.0.0
+ */
+@Slf4j
+public class BinaryCacheSerializer implements RedisSerializer<Object> {
+
+    /**
+     * 魔数（JSON文本不会以该字节开头）
+     */
+    static final byte MAGIC = (byte) 0xC7;
+
+    /**
+     * 当前信封版本
+     */
+    static final byte ENVELOPE_VERSION = 1;
+
+    private static final byte FLAG_LZ4 = 0x01;
+
+    private static final int HEADER_LENGTH = 4;
+
+    private final CacheValueCodec codec;
+    private final int compressionThreshold;
+    private final LZ4Compressor compressor;
+    private final LZ4SafeDecompressor decompressor;
+    private final GenericJackson2JsonRedisSerializer legacySerializer = legacyJsonSerializer();
+
+    /**
+     * @param codec                编解码器
+     * @param compressionThreshold 压缩阈值（字节），小于等于0表示不压缩
+     */
+    public BinaryCacheSerializer(CacheValueCodec codec, int compressionThreshold) {
+        this.codec = codec;
+        this.compressionThreshold = compressionThreshold;
+        LZ4Factory factory = LZ4Factory.fastestInstance();
+        this.compressor = factory.fastCompressor();
+        this.decompressor = factory.safeDecompressor();
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+
+        byte[] payload;
+        try {
+            payload = codec.encode(value);
+        } catch (Exception ex) {
+            throw new SerializationException("缓存值编码失败: " + value.getClass().getName(), ex);
+        }
+
+        if (compressionThreshold > 0 && payload.length > compressionThreshold) {
+            byte[] compressed = compressor.compress(payload);
+            // 压缩无收益时保留原始负载
+            if (compressed.length + Integer.BYTES < payload.length) {
+                return ByteBuffer.allocate(HEADER_LENGTH + Integer.BYTES + compressed.length)
+                        .put(MAGIC)
+                        .put(ENVELOPE_VERSION)
+                        .put(codec.id())
+                        .put(FLAG_LZ4)
+                        .putInt(payload.length)
+                        .put(compressed)
+                        .array();
+            }
+        }
+
+        return ByteBuffer.allocate(HEADER_LENGTH + payload.length)
+                .put(MAGIC)
+                .put(ENVELOPE_VERSION)
+                .put(codec.id())
+                .put((byte) 0)
+                .put(payload)
+                .array();
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+
+        if (bytes[0] != MAGIC) {
+            // 升级前写入的JSON条目
+            return deserializeLegacy(bytes);
+        }
+
+        if (bytes.length < HEADER_LENGTH || bytes[1] != ENVELOPE_VERSION || bytes[2] != codec.id()) {
+            log.warn("无法识别的缓存条目格式: version={}, codec={}",
+                    bytes.length > 1 ? bytes[1] : -1, bytes.length > 2 ? bytes[2] : -1);
+            return null;
+        }
+
+        try {
+            byte[] payload;
+            if ((bytes[3] & FLAG_LZ4) != 0) {
+                int originalLength = ByteBuffer.wrap(bytes, HEADER_LENGTH, Integer.BYTES).getInt();
+                payload = new byte[originalLength];
+                int offset = HEADER_LENGTH + Integer.BYTES;
+                decompressor.decompress(bytes, offset, bytes.length - offset, payload, 0);
+            } else {
+                payload = Arrays.copyOfRange(bytes, HEADER_LENGTH, bytes.length);
+            }
+            return codec.decode(payload);
+        } catch (Exception ex) {
+            log.warn("缓存条目解码失败，按未命中处理: {}", ex.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 升级前使用的JSON序列化器（注册Java时间模块）
+     */
+    public static GenericJackson2JsonRedisSerializer legacyJsonSerializer() {
+        return new GenericJackson2JsonRedisSerializer()
+                .configure(mapper -> mapper.registerModule(new JavaTimeModule()));
+    }
+
+    private Object deserializeLegacy(byte[] bytes) {
+        try {
+            return legacySerializer.deserialize(bytes);
+        } catch (SerializationException ex) {
+            log.warn("旧版缓存条目解码失败，按未命中处理: {}", ex.getMessage());
+            return null;
+        }
+    }
+}
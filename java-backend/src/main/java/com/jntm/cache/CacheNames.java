@@ -0,0 +1,33 @@
+package com.jntm.cache;
+
+/**
+ * 缓存名称常量
+ *
+ * @author JNTM Team
+ * @since 1.0.0
+ */
+public final class CacheNames {
+
+    /**
+     * 用户缓存（键带类型前缀：id:/username:/email:）
+     */
+    public static final String USER = "user";
+
+    /**
+     * 用户列表查询结果缓存（仅保存用户ID）
+     */
+    public static final String USER_LIST = "userList";
+
+    /**
+     * 用户持仓快照缓存（键为用户ID）
+     */
+    public static final String PORTFOLIO_SNAPSHOT = "portfolioSnapshot";
+
+    /**
+     * AI分析结果缓存（键为请求类型、请求摘要和净值日期）
+     */
+    public static final String AI_RESULT = "aiResult";
+
+    private CacheNames() {
+    }
+}
@@ -0,0 +1,34 @@
+package com.jntm.cache;
+
+/**
+ * 缓存值编解码器
+ * 负责对象与字节之间的转换，压缩和版本信封由 {@link BinaryCacheSerializer} 统一处理
+ *
+ * @author JNTM Team
+ * @since 1.0.0
+ */
+public interface CacheValueCodec {
+
+    /**
+     * 编解码器标识，写入信封头部，读取时据此选择解码器
+     */
+    byte id();
+
+    /**
+     * 编码
+     *
+     * @param value 缓存值（非null）
+     * @return 编码后的字节
+     * @throws Exception 编码失败
+     */
+    byte[] encode(Object value) throws Exception;
+
+    /**
+     * 解码
+     *
+     * @param bytes 编码后的字节
+     * @return 缓存值
+     * @throws Exception 解码失败
+     */
+    Object decode(byte[] bytes) throws Exception;
+}
@@ -0,0 +1,63 @@
+package com.jntm.cache;
+
+import com.jntm.event.PortfolioRevaluedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+/**
+ * 持仓快照缓存失效组件
+ * 持仓写入（JPA实体回调）和净值重估（{@link PortfolioRevaluedEvent}）时按用户失效快照
+ *
+ * 在事务中调用时，失效操作由事务感知的缓存管理器延迟到提交之后执行
+ *
+ * @author JNTM Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PortfolioCacheInvalidator {
+
+    private final CacheManager cacheManager;
+
+    /**
+     * 持仓快照缓存键
+     */
+    public static String snapshotKey(Long userId) {
+        return "user:" + userId;
+    }
+
+    /**
+     * 失效单个用户的持仓快照
+     */
+    public void evictUser(Long userId) {
+        Cache cache = cacheManager.getCache(CacheNames.PORTFOLIO_SNAPSHOT);
+        if (cache == null || userId == null) {
+            return;
+        }
+        cache.evict(snapshotKey(userId));
+        log.debug("失效持仓快照: userId={}", userId);
+    }
+
+    /**
+     * 失效多个用户的持仓快照
+     */
+    public void evictUsers(Collection<Long> userIds) {
+        userIds.forEach(this::evictUser);
+    }
+
+    /**
+     * 净值重估后失效受影响用户的快照
+     */
+    @EventListener
+    public void onPortfolioRevalued(PortfolioRevaluedEvent event) {
+        evictUsers(event.getUserIds());
+        log.debug("净值重估后失效持仓快照: users={}", event.getUserIds().size());
+    }
+}
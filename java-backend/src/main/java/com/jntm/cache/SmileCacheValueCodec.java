@@ -0,0 +1,58 @@
+package com.jntm.cache;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+/**
+ * 基于Jackson Smile的二进制编解码器
+ * 沿用DTO上的Jackson注解定义的结构，字段名和重复字符串通过Smile的回引用共享，
+ * 比带类名的JSON文本更紧凑、编解码更快；未知字段被忽略，便于DTO字段演进
+ *
+ * @author JNTM Team
+ * @since 1.0.0
+ */
+public class SmileCacheValueCodec implements CacheValueCodec {
+
+    public static final byte ID = 1;
+
+    private final ObjectMapper objectMapper;
+
+    public SmileCacheValueCodec() {
+        SmileFactory smileFactory = SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+
+        this.objectMapper = new ObjectMapper(smileFactory)
+                .registerModule(new JavaTimeModule())
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+        // 缓存值以Object存取，需要保留类型信息；只允许反序列化本项目和JDK类型
+        this.objectMapper.activateDefaultTyping(
+                BasicPolymorphicTypeValidator.builder()
+                        .allowIfSubType("com.jntm.")
+                        .allowIfSubType("java.")
+                        .build(),
+                ObjectMapper.DefaultTyping.NON_FINAL,
+                JsonTypeInfo.As.PROPERTY);
+    }
+
+    @Override
+    public byte id() {
+        return ID;
+    }
+
+    @Override
+    public byte[] encode(Object value) throws Exception {
+        return objectMapper.writeValueAsBytes(value);
+    }
+
+    @Override
+    public Object decode(byte[] bytes) throws Exception {
+        return objectMapper.readValue(bytes, Object.class);
+    }
+}
@@ -0,0 +1,262 @@
+package com.jntm.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 二级缓存
+ * 读：L1（Caffeine）→ L2（Redis）→ 加载器，L2命中时回填L1；
+ * 写/删：先写L2再更新本地L1，并通知其他节点清除各自的L1
+ *
+ * L1的键统一转换为字符串，与Redis缓存键的生成规则保持一致，便于跨节点按键失效
+ *
+ * 读取L2和调用加载器都在Caffeine的计算函数之外进行，同一键的并发加载合并为一次；
+ * 每次写入或失效（含其他节点的失效通知）递增该键所在分段的失效版本，
+ * 回填L1时在计算函数内比较读取前的版本，读取期间发生过失效则不回填，避免把失效前读到的旧值装回L1
+ *
+ * @author JNTM Team
+ * @since 1.0.0
+ */
+public class TwoLevelCache extends AbstractValueAdaptingCache {
+
+    /**
+     * 失效版本分段数
+     */
+    private static final int VERSION_STRIPES = 64;
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> localCache;
+    private final Cache remoteCache;
+    private final TwoLevelCacheManager cacheManager;
+
+    /**
+     * 按键分段的失效版本
+     */
+    private final AtomicLongArray versions = new AtomicLongArray(VERSION_STRIPES);
+
+    /**
+     * 进行中的加载，同一键的并发未命中等待同一次加载
+     */
+    private final ConcurrentHashMap<String, CompletableFuture<Object>> loading = new ConcurrentHashMap<>();
+
+    public TwoLevelCache(String name,
+                         com.github.benmanes.caffeine.cache.Cache<String, Object> localCache,
+                         Cache remoteCache,
+                         TwoLevelCacheManager cacheManager) {
+        super(false);
+        this.name = name;
+        this.localCache = localCache;
+        this.remoteCache = remoteCache;
+        this.cacheManager = cacheManager;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return this;
+    }
+
+    /**
+     * 获取L1缓存
+     */
+    public com.github.benmanes.caffeine.cache.Cache<String, Object> getLocalCache() {
+        return localCache;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        String localKey = localKey(key);
+        Object value = localCache.getIfPresent(localKey);
+        if (value != null) {
+            return value;
+        }
+
+        long version = version(localKey);
+        ValueWrapper wrapper = remoteCache.get(key);
+        value = wrapper != null ? wrapper.get() : null;
+        if (value != null) {
+            refillLocal(localKey, value, version);
+        }
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String localKey = localKey(key);
+        Object value = localCache.getIfPresent(localKey);
+        if (value != null) {
+            return (T) value;
+        }
+
+        CompletableFuture<Object> load = new CompletableFuture<>();
+        CompletableFuture<Object> inFlight = loading.putIfAbsent(localKey, load);
+        if (inFlight != null) {
+            return (T) await(inFlight);
+        }
+        try {
+            Object loaded = loadThrough(key, localKey, valueLoader);
+            load.complete(loaded);
+            return (T) loaded;
+        } catch (RuntimeException ex) {
+            load.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            loading.remove(localKey, load);
+        }
+    }
+
+    /**
+     * 依次读取L2和调用加载器，加载结果写入L2和L1
+     * 加载期间该键发生过失效时，结果可能基于失效前的数据，只返回给调用方，不写入缓存
+     */
+    private Object loadThrough(Object key, String localKey, Callable<?> valueLoader) {
+        long version = version(localKey);
+        ValueWrapper wrapper = remoteCache.get(key);
+        Object remote = wrapper != null ? wrapper.get() : null;
+        if (remote != null) {
+            refillLocal(localKey, remote, version);
+            return remote;
+        }
+
+        Object loaded;
+        try {
+            loaded = valueLoader.call();
+        } catch (Exception ex) {
+            throw new ValueRetrievalException(key, valueLoader, ex);
+        }
+        if (loaded == null || version(localKey) != version) {
+            return loaded;
+        }
+
+        remoteCache.put(key, loaded);
+        if (!refillLocal(localKey, loaded, version)) {
+            // 写入L2的同时发生了失效，撤销刚写入的值
+            remoteCache.evict(key);
+        }
+        return loaded;
+    }
+
+    /**
+     * 等待其他线程进行中的同键加载
+     */
+    private static Object await(CompletableFuture<Object> inFlight) {
+        try {
+            return inFlight.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * 回填L1，读取前记录的版本之后发生过失效时不回填
+     *
+     * @return 是否已回填
+     */
+    private boolean refillLocal(String localKey, Object value, long version) {
+        boolean[] installed = {false};
+        localCache.asMap().compute(localKey, (k, current) -> {
+            if (version(localKey) != version) {
+                return current;
+            }
+            installed[0] = true;
+            return value;
+        });
+        return installed[0];
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (value == null) {
+            evict(key);
+            return;
+        }
+        remoteCache.put(key, value);
+        bumpVersion(localKey(key));
+        localCache.put(localKey(key), value);
+        cacheManager.publishEvict(name, localKey(key));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = remoteCache.putIfAbsent(key, value);
+        Object current = existing != null && existing.get() != null ? existing.get() : value;
+        if (current != null) {
+            bumpVersion(localKey(key));
+            localCache.put(localKey(key), current);
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        remoteCache.evict(key);
+        evictLocal(localKey(key));
+        cacheManager.publishEvict(name, localKey(key));
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean present = remoteCache.evictIfPresent(key);
+        evictLocal(localKey(key));
+        cacheManager.publishEvict(name, localKey(key));
+        return present;
+    }
+
+    @Override
+    public void clear() {
+        remoteCache.clear();
+        clearLocal();
+        cacheManager.publishClear(name);
+    }
+
+    /**
+     * 仅清除本节点L1中的指定键（处理其他节点的失效通知）
+     */
+    void evictLocal(String localKey) {
+        bumpVersion(localKey);
+        localCache.invalidate(localKey);
+    }
+
+    /**
+     * 仅清空本节点L1（处理其他节点的失效通知）
+     */
+    void clearLocal() {
+        for (int i = 0; i < VERSION_STRIPES; i++) {
+            versions.incrementAndGet(i);
+        }
+        localCache.invalidateAll();
+    }
+
+    private long version(String localKey) {
+        return versions.get(stripe(localKey));
+    }
+
+    /**
+     * 递增失效版本，必须在修改L1之前调用
+     */
+    private void bumpVersion(String localKey) {
+        versions.incrementAndGet(stripe(localKey));
+    }
+
+    private static int stripe(String localKey) {
+        return Math.floorMod(localKey.hashCode(), VERSION_STRIPES);
+    }
+
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+}
@@ -0,0 +1,167 @@
+package com.jntm.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.AbstractTransactionSupportingCacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 二级缓存管理器
+ * 为每个缓存名称组合一个有大小/TTL上限的Caffeine近端缓存和一个Redis共享缓存，
+ * 并通过Redis发布订阅在节点间同步L1失效，使任一节点的@CacheEvict清除所有节点的L1
+ *
+ * @author JNTM Team
+ * @since 1.0.0
+ */
+@Slf4j
+public class TwoLevelCacheManager extends AbstractTransactionSupportingCacheManager implements MessageListener {
+
+    /**
+     * 当前节点标识，用于忽略自己发出的失效通知
+     */
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final CacheManager remoteCacheManager;
+    private final TwoLevelCacheProperties properties;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, TwoLevelCache> twoLevelCaches = new ConcurrentHashMap<>();
+
+    public TwoLevelCacheManager(CacheManager remoteCacheManager,
+                                TwoLevelCacheProperties properties,
+                                StringRedisTemplate stringRedisTemplate,
+                                ObjectMapper objectMapper,
+                                MeterRegistry meterRegistry) {
+        this.remoteCacheManager = remoteCacheManager;
+        this.properties = properties;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    protected Cache getMissingCache(String name) {
+        return twoLevelCaches.computeIfAbsent(name, this::createCache);
+    }
+
+    /**
+     * 创建指定名称的二级缓存
+     */
+    private TwoLevelCache createCache(String name) {
+        Cache remoteCache = remoteCacheManager.getCache(name);
+        if (remoteCache == null) {
+            throw new IllegalStateException("无法创建Redis缓存: " + name);
+        }
+
+        com.github.benmanes.caffeine.cache.Cache<String, Object> localCache =
+                Caffeine.from(properties.getSpec(name))
+                        .recordStats()
+                        .build();
+
+        if (meterRegistry != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, localCache, name, "level", "l1");
+        }
+
+        log.info("创建二级缓存: name={}, l1Spec={}", name, properties.getSpec(name));
+        return new TwoLevelCache(name, localCache, remoteCache, this);
+    }
+
+    /**
+     * 通知其他节点清除L1中的指定键
+     */
+    void publishEvict(String cacheName, String key) {
+        publish(new InvalidationMessage(nodeId, cacheName, key));
+    }
+
+    /**
+     * 通知其他节点清空指定缓存的L1
+     */
+    void publishClear(String cacheName) {
+        publish(new InvalidationMessage(nodeId, cacheName, null));
+    }
+
+    private void publish(InvalidationMessage message) {
+        try {
+            stringRedisTemplate.convertAndSend(properties.getInvalidationChannel(),
+                    objectMapper.writeValueAsString(message));
+        } catch (Exception ex) {
+            // 通知失败时其他节点的L1最迟在其TTL到期后失效
+            log.warn("发送缓存失效通知失败: cache={}, error={}", message.getCacheName(), ex.getMessage());
+        }
+    }
+
+    /**
+     * 处理其他节点发出的失效通知
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            InvalidationMessage invalidation = objectMapper.readValue(
+                    new String(message.getBody(), StandardCharsets.UTF_8), InvalidationMessage.class);
+            if (nodeId.equals(invalidation.getNodeId())) {
+                return;
+            }
+
+            TwoLevelCache cache = twoLevelCaches.get(invalidation.getCacheName());
+            if (cache == null) {
+                return;
+            }
+
+            if (invalidation.getKey() == null) {
+                cache.clearLocal();
+            } else {
+                cache.evictLocal(invalidation.getKey());
+            }
+        } catch (Exception ex) {
+            log.warn("处理缓存失效通知失败: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * 缓存失效通知消息
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class InvalidationMessage {
+
+        /**
+         * 发送节点标识
+         */
+        private String nodeId;
+
+        /**
+         * 缓存名称
+         */
+        private String cacheName;
+
+        /**
+         * 缓存键，为null表示清空整个缓存
+         */
+        private String key;
+    }
+}
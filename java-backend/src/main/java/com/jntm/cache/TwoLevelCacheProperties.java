@@ -0,0 +1,59 @@
+package com.jntm.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 二级缓存配置属性
+ * L1为进程内Caffeine缓存，L2为Redis共享缓存
+ *
+ * @author JNTM Team
+ * @since 1.0.0
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "jntm.cache")
+public class TwoLevelCacheProperties {
+
+    /**
+     * L1默认规格（Caffeine spec格式）
+     */
+    private String defaultSpec = "maximumSize=10000,expireAfterWrite=5m";
+
+    /**
+     * 按缓存名称配置的L1规格
+     */
+    private Map<String, String> specs = new HashMap<>();
+
+    /**
+     * L2默认过期时间
+     */
+    private Duration defaultTtl = Duration.ofHours(1);
+
+    /**
+     * 按缓存名称配置的L2过期时间
+     */
+    private Map<String, Duration> ttl = new HashMap<>();
+
+    /**
+     * 跨节点失效通知的Redis频道
+     */
+    private String invalidationChannel = "jntm:cache:invalidation";
+
+    /**
+     * 缓存值超过该字节数时使用LZ4压缩，小于等于0表示不压缩
+     */
+    private int compressionThreshold = 1024;
+
+    /**
+     * 获取指定缓存的L1规格
+     */
+    public String getSpec(String cacheName) {
+        return specs.getOrDefault(cacheName, defaultSpec);
+    }
+}
@@ -0,0 +1,80 @@
+package com.jntm.cache;
+
+import com.jntm.entity.User;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * 用户缓存失效组件
+ * 用户缓存按 id:/username:/email: 命名空间分别存放，
+ * 按用户失效时同时清除三个别名键，而不是清空整个缓存
+ *
+ * 在事务中调用时，失效操作由事务感知的缓存管理器延迟到提交之后执行
+ *
+ * @author JNTM Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserCacheInvalidator {
+
+    private final CacheManager cacheManager;
+
+    /**
+     * 按ID的缓存键（与 @Cacheable 中的 'id:' + #id 一致）
+     */
+    public static String idKey(Long id) {
+        return "id:" + id;
+    }
+
+    /**
+     * 按用户名的缓存键（与 @Cacheable 中的 'username:' + #username 一致）
+     */
+    public static String usernameKey(String username) {
+        return "username:" + username;
+    }
+
+    /**
+     * 按邮箱的缓存键（与 @Cacheable 中的 'email:' + #email 一致）
+     */
+    public static String emailKey(String email) {
+        return "email:" + email;
+    }
+
+    /**
+     * 失效单个用户的全部别名键
+     *
+     * @param user 用户实体
+     */
+    public void evictUser(User user) {
+        Cache cache = cacheManager.getCache(CacheNames.USER);
+        if (cache == null || user == null) {
+            return;
+        }
+
+        cache.evict(idKey(user.getId()));
+        if (user.getUsername() != null) {
+            cache.evict(usernameKey(user.getUsername()));
+        }
+        if (user.getEmail() != null) {
+            cache.evict(emailKey(user.getEmail()));
+        }
+        log.debug("失效用户缓存: userId={}", user.getId());
+    }
+
+    /**
+     * 失效用户列表查询结果
+     * 仅在列表成员可能变化（新增、删除、筛选字段变化）时调用
+     */
+    public void evictUserLists() {
+        Cache cache = cacheManager.getCache(CacheNames.USER_LIST);
+        if (cache != null) {
+            cache.clear();
+            log.debug("失效用户列表缓存");
+        }
+    }
+}
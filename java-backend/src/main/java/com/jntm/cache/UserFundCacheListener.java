@@ -0,0 +1,35 @@
+package com.jntm.cache;
+
+import com.jntm.entity.UserFund;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * 持仓实体监听器
+ * 通过JPA写入持仓后失效对应用户的持仓快照（由Hibernate的Spring Bean容器创建）
+ *
+ * @author JNTM Team
+ * @since 1.0.0
+ */
+@Component
+public class UserFundCacheListener {
+
+    private final ObjectProvider<PortfolioCacheInvalidator> invalidator;
+
+    public UserFundCacheListener(ObjectProvider<PortfolioCacheInvalidator> invalidator) {
+        this.invalidator = invalidator;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onHoldingChanged(UserFund userFund) {
+        PortfolioCacheInvalidator target = invalidator.getIfAvailable();
+        if (target != null) {
+            target.evictUser(userFund.getUserId());
+        }
+    }
+}
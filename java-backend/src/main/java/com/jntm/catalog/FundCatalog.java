@@ -0,0 +1,271 @@
+package com.jntm.catalog;
+
+import com.jntm.dto.FundDTO;
+import com.jntm.entity.Fund;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 基金目录快照
+ * 全量基金按基金代码排序后分配序号（ordinal），构建后不可变，刷新时整体替换
+ *
+ * 索引：
+ * <ul>
+ *     <li>基金代码：纯数字代码编码为long后二分查找，非数字代码走HashMap</li>
+ *     <li>基金类型/风险等级/基金状态：EnumMap -> 序号数组</li>
+ *     <li>基金公司：HashMap -> 序号数组</li>
+ * </ul>
+ *
+ * 各索引中的序号数组均按升序排列，便于求交集
+ *
+ * @author JNTM Team
+ * @since 1.0.0
+ */
+public final class FundCatalog {
+
+    private static final int[] NO_ORDINALS = new int[0];
+
+    private static final FundCatalog EMPTY = build(Collections.emptyList(), 0L);
+
+    /**
+     * 纯数字代码的最大长度（编码后不超过long范围）
+     */
+    private static final int MAX_NUMERIC_CODE_LENGTH = 16;
+
+    private final long version;
+    private final Instant loadedAt;
+
+    private final FundDTO[] funds;
+
+    private final long[] numericCodeKeys;
+    private final int[] numericCodeOrdinals;
+    private final Map<String, Integer> otherCodeOrdinals;
+
+    private final Map<Fund.FundType, int[]> byType;
+    private final Map<Fund.RiskLevel, int[]> byRiskLevel;
+    private final Map<Fund.FundStatus, int[]> byStatus;
+    private final Map<String, int[]> byCompany;
+
+    private FundCatalog(long version, FundDTO[] funds) {
+        this.version = version;
+        this.loadedAt = Instant.now();
+        this.funds = funds;
+
+        int numericCount = 0;
+        for (FundDTO fund : funds) {
+            if (encodeNumericCode(fund.getFundCode()) >= 0) {
+                numericCount++;
+            }
+        }
+
+        // 按编码值排序的 (key, ordinal) 对
+        long[][] pairs = new long[numericCount][];
+        Map<String, Integer> others = new HashMap<>();
+        int p = 0;
+        for (int i = 0; i < funds.length; i++) {
+            long key = encodeNumericCode(funds[i].getFundCode());
+            if (key >= 0) {
+                pairs[p++] = new long[]{key, i};
+            } else {
+                others.put(funds[i].getFundCode(), i);
+            }
+        }
+        Arrays.sort(pairs, Comparator.comparingLong(pair -> pair[0]));
+        this.numericCodeKeys = new long[numericCount];
+        this.numericCodeOrdinals = new int[numericCount];
+        for (int i = 0; i < numericCount; i++) {
+            numericCodeKeys[i] = pairs[i][0];
+            numericCodeOrdinals[i] = (int) pairs[i][1];
+        }
+        this.otherCodeOrdinals = others;
+
+        Map<Fund.FundType, List<Integer>> typeLists = new EnumMap<>(Fund.FundType.class);
+        Map<Fund.RiskLevel, List<Integer>> riskLists = new EnumMap<>(Fund.RiskLevel.class);
+        Map<Fund.FundStatus, List<Integer>> statusLists = new EnumMap<>(Fund.FundStatus.class);
+        Map<String, List<Integer>> companyLists = new HashMap<>();
+        for (int i = 0; i < funds.length; i++) {
+            FundDTO fund = funds[i];
+            if (fund.getFundType() != null) {
+                typeLists.computeIfAbsent(fund.getFundType(), k -> new ArrayList<>()).add(i);
+            }
+            if (fund.getRiskLevel() != null) {
+                riskLists.computeIfAbsent(fund.getRiskLevel(), k -> new ArrayList<>()).add(i);
+            }
+            if (fund.getStatus() != null) {
+                statusLists.computeIfAbsent(fund.getStatus(), k -> new ArrayList<>()).add(i);
+            }
+            if (fund.getFundCompany() != null) {
+                companyLists.computeIfAbsent(fund.getFundCompany(), k -> new ArrayList<>()).add(i);
+            }
+        }
+        this.byType = toOrdinalArrays(typeLists, new EnumMap<>(Fund.FundType.class));
+        this.byRiskLevel = toOrdinalArrays(riskLists, new EnumMap<>(Fund.RiskLevel.class));
+        this.byStatus = toOrdinalArrays(statusLists, new EnumMap<>(Fund.FundStatus.class));
+        this.byCompany = toOrdinalArrays(companyLists, new HashMap<>());
+    }
+
+    /**
+     * 由基金实体构建快照
+     *
+     * @param funds   全量基金
+     * @param version 快照版本号
+     */
+    public static FundCatalog build(List<Fund> funds, long version) {
+        FundDTO[] dtos = funds.stream()
+                .filter(fund -> fund.getFundCode() != null)
+                .map(FundDTO::fromEntity)
+                .sorted(Comparator.comparing(FundDTO::getFundCode))
+                .toArray(FundDTO[]::new);
+        return new FundCatalog(version, dtos);
+    }
+
+    /**
+     * 空快照（首次加载完成前使用）
+     */
+    public static FundCatalog empty() {
+        return EMPTY;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Instant getLoadedAt() {
+        return loadedAt;
+    }
+
+    /**
+     * 基金数量
+     */
+    public int size() {
+        return funds.length;
+    }
+
+    /**
+     * 按序号获取基金
+     */
+    public FundDTO get(int ordinal) {
+        return funds[ordinal];
+    }
+
+    /**
+     * 全部基金（按基金代码排序）
+     */
+    public List<FundDTO> all() {
+        return Collections.unmodifiableList(Arrays.asList(funds));
+    }
+
+    /**
+     * 获取基金代码对应的序号
+     *
+     * @return 序号，不存在时返回-1
+     */
+    public int ordinalOf(String fundCode) {
+        if (fundCode == null) {
+            return -1;
+        }
+
+        long key = encodeNumericCode(fundCode);
+        if (key >= 0) {
+            int index = Arrays.binarySearch(numericCodeKeys, key);
+            return index >= 0 ? numericCodeOrdinals[index] : -1;
+        }
+
+        Integer ordinal = otherCodeOrdinals.get(fundCode);
+        return ordinal != null ? ordinal : -1;
+    }
+
+    /**
+     * 根据基金代码查找基金
+     *
+     * @return 基金，不存在时返回null
+     */
+    public FundDTO findByCode(String fundCode) {
+        int ordinal = ordinalOf(fundCode);
+        return ordinal >= 0 ? funds[ordinal] : null;
+    }
+
+    /**
+     * 指定类型的基金序号（升序，只读）
+     */
+    public int[] ordinalsByType(Fund.FundType fundType) {
+        return byType.getOrDefault(fundType, NO_ORDINALS);
+    }
+
+    /**
+     * 指定风险等级的基金序号（升序，只读）
+     */
+    public int[] ordinalsByRiskLevel(Fund.RiskLevel riskLevel) {
+        return byRiskLevel.getOrDefault(riskLevel, NO_ORDINALS);
+    }
+
+    /**
+     * 指定状态的基金序号（升序，只读）
+     */
+    public int[] ordinalsByStatus(Fund.FundStatus status) {
+        return byStatus.getOrDefault(status, NO_ORDINALS);
+    }
+
+    /**
+     * 指定基金公司的基金序号（升序，只读）
+     */
+    public int[] ordinalsByCompany(String fundCompany) {
+        return fundCompany != null ? byCompany.getOrDefault(fundCompany, NO_ORDINALS) : NO_ORDINALS;
+    }
+
+    /**
+     * 全部基金公司及其基金数量
+     */
+    public Map<String, Integer> companyCounts() {
+        Map<String, Integer> counts = new HashMap<>(byCompany.size() * 2);
+        byCompany.forEach((company, ordinals) -> counts.put(company, ordinals.length));
+        return counts;
+    }
+
+    /**
+     * 按序号数组取基金
+     */
+    public List<FundDTO> resolve(int[] ordinals) {
+        List<FundDTO> result = new ArrayList<>(ordinals.length);
+        for (int ordinal : ordinals) {
+            result.add(funds[ordinal]);
+        }
+        return result;
+    }
+
+    /**
+     * 将纯数字基金代码编码为long
+     * 编码中带上代码长度，使 "000001" 与 "1" 不会冲突
+     *
+     * @return 编码值，非纯数字代码返回-1
+     */
+    static long encodeNumericCode(String fundCode) {
+        int length = fundCode.length();
+        if (length == 0 || length > MAX_NUMERIC_CODE_LENGTH) {
+            return -1;
+        }
+
+        long value = 0;
+        for (int i = 0; i < length; i++) {
+            char c = fundCode.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value * 100 + length;
+    }
+
+    private static <K> Map<K, int[]> toOrdinalArrays(Map<K, List<Integer>> lists, Map<K, int[]> target) {
+        lists.forEach((key, list) -> target.put(key, list.stream().mapToInt(Integer::intValue).toArray()));
+        return Collections.unmodifiableMap(target);
+    }
+}
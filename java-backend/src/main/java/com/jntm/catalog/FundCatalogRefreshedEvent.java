@@ -0,0 +1,64 @@
+package com.jntm.catalog;
+
+import org.springframework.context.ApplicationEvent;
+
+import java.util.Set;
+
+/**
+ * 基金目录刷新事件
+ * 新快照替换旧快照后发布，监听方可只处理发生变化的基金做增量更新
+ *
+ * @author JNTM Team
+ * @since 1.0.0
+ */
+public class FundCatalogRefreshedEvent extends ApplicationEvent {
+
+    private final FundCatalog catalog;
+    private final FundCatalog previous;
+    private final Set<String> changedCodes;
+    private final Set<String> removedCodes;
+
+    public FundCatalogRefreshedEvent(Object source, FundCatalog catalog, FundCatalog previous,
+                                     Set<String> changedCodes, Set<String> removedCodes) {
+        super(source);
+        this.catalog = catalog;
+        this.previous = previous;
+        this.changedCodes = changedCodes;
+        this.removedCodes = removedCodes;
+    }
+
+    /**
+     * 新快照
+     */
+    public FundCatalog getCatalog() {
+        return catalog;
+    }
+
+    /**
+     * 被替换的旧快照
+     */
+    public FundCatalog getPrevious() {
+        return previous;
+    }
+
+    /**
+     * 新增或内容变化的基金代码
+     */
+    public Set<String> getChangedCodes() {
+        return changedCodes;
+    }
+
+    /**
+     * 已从目录中移除的基金代码
+     */
+    public Set<String> getRemovedCodes() {
+        return removedCodes;
+    }
+
+    /**
+     * 是否有任何变化
+     */
+    public boolean hasChanges() {
+        return !changedCodes.isEmpty() || !removedCodes.isEmpty();
+    }
+}
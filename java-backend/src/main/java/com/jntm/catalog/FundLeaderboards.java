@@ -0,0 +1,332 @@
+package com.jntm.catalog;
+
+import com.jntm.dto.FundDTO;
+import com.jntm.dto.FundRankingDTO;
+import com.jntm.entity.Fund;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 基金排行榜
+ * 对每个 {@link LeaderboardMetric} 维护全市场、按基金类型、按风险等级三类分区的有序榜单（仅正常状态且指标非空的基金），
+ * 读取前k名为O(k)
+ *
+ * 榜单不可变，更新时写时复制：基金目录刷新后只从受影响的分区中移除变化的基金，
+ * 再将其新值归并插入；变化量较大或首次加载时全量重建
+ *
+ * @author JNTM Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class FundLeaderboards {
+
+    /**
+     * 变化基金超过目录规模的该比例时全量重建
+     */
+    private static final int FULL_REBUILD_DIVISOR = 4;
+
+    private static final Board EMPTY_BOARD = new Board(new FundDTO[0], new long[0]);
+
+    private final Object updateLock = new Object();
+
+    private volatile Map<LeaderboardMetric, Boards> boards = emptyBoards();
+
+    /**
+     * 基金目录刷新后更新榜单
+     */
+    @Order(1)
+    @EventListener
+    public void onCatalogRefreshed(FundCatalogRefreshedEvent event) {
+        synchronized (updateLock) {
+            FundCatalog catalog = event.getCatalog();
+            int dirtyCount = event.getChangedCodes().size() + event.getRemovedCodes().size();
+            if (dirtyCount == 0) {
+                return;
+            }
+
+            long start = System.nanoTime();
+            boolean full = event.getPrevious().size() == 0
+                    || dirtyCount * FULL_REBUILD_DIVISOR > catalog.size();
+
+            Map<LeaderboardMetric, Boards> next = new EnumMap<>(LeaderboardMetric.class);
+            for (LeaderboardMetric metric : LeaderboardMetric.values()) {
+                next.put(metric, full
+                        ? rebuild(catalog, metric)
+                        : update(boards.get(metric), event, metric));
+            }
+            boards = Collections.unmodifiableMap(next);
+
+            log.debug("基金排行榜更新完成: dirty={}, full={}, 耗时={}μs",
+                    dirtyCount, full, (System.nanoTime() - start) / 1000);
+        }
+    }
+
+    /**
+     * 获取排行榜前limit名
+     *
+     * @param metric    排行指标
+     * @param fundType  基金类型分区，可为空
+     * @param riskLevel 风险等级分区，可为空（与基金类型同时指定时以基金类型为准）
+     * @param limit     数量
+     */
+    public List<FundRankingDTO> top(LeaderboardMetric metric, Fund.FundType fundType,
+                                    Fund.RiskLevel riskLevel, int limit) {
+        Boards metricBoards = boards.get(metric);
+        Board board;
+        if (fundType != null) {
+            board = metricBoards.byType.getOrDefault(fundType, EMPTY_BOARD);
+        } else if (riskLevel != null) {
+            board = metricBoards.byRiskLevel.getOrDefault(riskLevel, EMPTY_BOARD);
+        } else {
+            board = metricBoards.all;
+        }
+
+        int n = Math.min(limit, board.funds.length);
+        List<FundRankingDTO> result = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            FundDTO fund = board.funds[i];
+            result.add(FundRankingDTO.builder()
+                    .rank(i + 1)
+                    .fundCode(fund.getFundCode())
+                    .fundName(fund.getFundName())
+                    .fundType(fund.getFundType())
+                    .riskLevel(fund.getRiskLevel())
+                    .value(FundMetricsStore.fromScaled(board.values[i]))
+                    .build());
+        }
+        return result;
+    }
+
+    /**
+     * 全量重建某个指标的全部分区
+     */
+    private static Boards rebuild(FundCatalog catalog, LeaderboardMetric metric) {
+        List<Entry> all = new ArrayList<>();
+        for (int ordinal : catalog.ordinalsByStatus(Fund.FundStatus.ACTIVE)) {
+            Entry entry = Entry.of(catalog.get(ordinal), metric);
+            if (entry != null) {
+                all.add(entry);
+            }
+        }
+        all.sort((a, b) -> a.compareTo(b, metric.isAscending()));
+
+        Map<Fund.FundType, List<Entry>> typeLists = new EnumMap<>(Fund.FundType.class);
+        Map<Fund.RiskLevel, List<Entry>> riskLists = new EnumMap<>(Fund.RiskLevel.class);
+        for (Entry entry : all) {
+            if (entry.fund.getFundType() != null) {
+                typeLists.computeIfAbsent(entry.fund.getFundType(), k -> new ArrayList<>()).add(entry);
+            }
+            if (entry.fund.getRiskLevel() != null) {
+                riskLists.computeIfAbsent(entry.fund.getRiskLevel(), k -> new ArrayList<>()).add(entry);
+            }
+        }
+
+        Map<Fund.FundType, Board> byType = new EnumMap<>(Fund.FundType.class);
+        typeLists.forEach((type, list) -> byType.put(type, Board.of(list)));
+        Map<Fund.RiskLevel, Board> byRisk = new EnumMap<>(Fund.RiskLevel.class);
+        riskLists.forEach((level, list) -> byRisk.put(level, Board.of(list)));
+        return new Boards(Board.of(all), byType, byRisk);
+    }
+
+    /**
+     * 增量更新某个指标：只改写包含变化基金的分区
+     */
+    private static Boards update(Boards current, FundCatalogRefreshedEvent event, LeaderboardMetric metric) {
+        FundCatalog catalog = event.getCatalog();
+        FundCatalog previous = event.getPrevious();
+
+        Set<String> dirty = new HashSet<>(event.getChangedCodes());
+        dirty.addAll(event.getRemovedCodes());
+
+        // 受影响的分区：变化前后所属的类型和风险等级
+        Set<Fund.FundType> types = EnumSet.noneOf(Fund.FundType.class);
+        Set<Fund.RiskLevel> levels = EnumSet.noneOf(Fund.RiskLevel.class);
+        List<Entry> inserts = new ArrayList<>();
+        for (String code : dirty) {
+            collectPartitions(previous.findByCode(code), types, levels);
+            FundDTO fund = catalog.findByCode(code);
+            collectPartitions(fund, types, levels);
+            if (fund != null && fund.getStatus() == Fund.FundStatus.ACTIVE) {
+                Entry entry = Entry.of(fund, metric);
+                if (entry != null) {
+                    inserts.add(entry);
+                }
+            }
+        }
+        inserts.sort((a, b) -> a.compareTo(b, metric.isAscending()));
+
+        Board all = current.all.merge(dirty, inserts, metric.isAscending());
+
+        Map<Fund.FundType, Board> byType = new EnumMap<>(Fund.FundType.class);
+        byType.putAll(current.byType);
+        for (Fund.FundType type : types) {
+            List<Entry> typeInserts = new ArrayList<>();
+            for (Entry entry : inserts) {
+                if (entry.fund.getFundType() == type) {
+                    typeInserts.add(entry);
+                }
+            }
+            byType.put(type, byType.getOrDefault(type, EMPTY_BOARD).merge(dirty, typeInserts, metric.isAscending()));
+        }
+
+        Map<Fund.RiskLevel, Board> byRisk = new EnumMap<>(Fund.RiskLevel.class);
+        byRisk.putAll(current.byRiskLevel);
+        for (Fund.RiskLevel level : levels) {
+            List<Entry> levelInserts = new ArrayList<>();
+            for (Entry entry : inserts) {
+                if (entry.fund.getRiskLevel() == level) {
+                    levelInserts.add(entry);
+                }
+            }
+            byRisk.put(level, byRisk.getOrDefault(level, EMPTY_BOARD).merge(dirty, levelInserts, metric.isAscending()));
+        }
+
+        return new Boards(all, byType, byRisk);
+    }
+
+    private static void collectPartitions(FundDTO fund, Set<Fund.FundType> types, Set<Fund.RiskLevel> levels) {
+        if (fund == null) {
+            return;
+        }
+        if (fund.getFundType() != null) {
+            types.add(fund.getFundType());
+        }
+        if (fund.getRiskLevel() != null) {
+            levels.add(fund.getRiskLevel());
+        }
+    }
+
+    private static Map<LeaderboardMetric, Boards> emptyBoards() {
+        Map<LeaderboardMetric, Boards> empty = new EnumMap<>(LeaderboardMetric.class);
+        for (LeaderboardMetric metric : LeaderboardMetric.values()) {
+            empty.put(metric, new Boards(EMPTY_BOARD,
+                    new EnumMap<>(Fund.FundType.class), new EnumMap<>(Fund.RiskLevel.class)));
+        }
+        return Collections.unmodifiableMap(empty);
+    }
+
+    /**
+     * 某个指标的全部分区
+     */
+    private static final class Boards {
+
+        private final Board all;
+        private final Map<Fund.FundType, Board> byType;
+        private final Map<Fund.RiskLevel, Board> byRiskLevel;
+
+        private Boards(Board all, Map<Fund.FundType, Board> byType, Map<Fund.RiskLevel, Board> byRiskLevel) {
+            this.all = all;
+            this.byType = byType;
+            this.byRiskLevel = byRiskLevel;
+        }
+    }
+
+    /**
+     * 单个有序榜单
+     */
+    private static final class Board {
+
+        private final FundDTO[] funds;
+        private final long[] values;
+
+        private Board(FundDTO[] funds, long[] values) {
+            this.funds = funds;
+            this.values = values;
+        }
+
+        private static Board of(List<Entry> sorted) {
+            FundDTO[] funds = new FundDTO[sorted.size()];
+            long[] values = new long[sorted.size()];
+            for (int i = 0; i < funds.length; i++) {
+                funds[i] = sorted.get(i).fund;
+                values[i] = sorted.get(i).value;
+            }
+            return new Board(funds, values);
+        }
+
+        /**
+         * 移除dirty中的基金后与有序的inserts归并，返回新榜单
+         */
+        private Board merge(Set<String> dirty, List<Entry> inserts, boolean ascending) {
+            int capacity = funds.length + inserts.size();
+            FundDTO[] mergedFunds = new FundDTO[capacity];
+            long[] mergedValues = new long[capacity];
+
+            int i = 0, j = 0, n = 0;
+            while (i < funds.length || j < inserts.size()) {
+                if (i < funds.length && dirty.contains(funds[i].getFundCode())) {
+                    i++;
+                    continue;
+                }
+                boolean takeInsert = i >= funds.length
+                        || (j < inserts.size() && inserts.get(j).compareTo(funds[i], values[i], ascending) < 0);
+                if (takeInsert) {
+                    Entry entry = inserts.get(j++);
+                    mergedFunds[n] = entry.fund;
+                    mergedValues[n++] = entry.value;
+                } else {
+                    mergedFunds[n] = funds[i];
+                    mergedValues[n++] = values[i++];
+                }
+            }
+
+            if (n == capacity) {
+                return new Board(mergedFunds, mergedValues);
+            }
+            FundDTO[] trimmedFunds = new FundDTO[n];
+            long[] trimmedValues = new long[n];
+            System.arraycopy(mergedFunds, 0, trimmedFunds, 0, n);
+            System.arraycopy(mergedValues, 0, trimmedValues, 0, n);
+            return new Board(trimmedFunds, trimmedValues);
+        }
+    }
+
+    /**
+     * 榜单条目（构建期间使用）
+     */
+    private static final class Entry {
+
+        private final FundDTO fund;
+        private final long value;
+
+        private Entry(FundDTO fund, long value) {
+            this.fund = fund;
+            this.value = value;
+        }
+
+        /**
+         * @return 指标为空时返回null
+         */
+        private static Entry of(FundDTO fund, LeaderboardMetric metric) {
+            long value = FundMetricsStore.toScaled(metric.getMetric().extract(fund));
+            return value == FundMetricsStore.NULL ? null : new Entry(fund, value);
+        }
+
+        private int compareTo(Entry other, boolean ascending) {
+            return compareTo(other.fund, other.value, ascending);
+        }
+
+        /**
+         * 按指标排序，指标相同时按基金代码排序
+         */
+        private int compareTo(FundDTO otherFund, long otherValue, boolean ascending) {
+            if (value != otherValue) {
+                int cmp = Long.compare(value, otherValue);
+                return ascending ? cmp : -cmp;
+            }
+            return fund.getFundCode().compareTo(otherFund.getFundCode());
+        }
+    }
+}
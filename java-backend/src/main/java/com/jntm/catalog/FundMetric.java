@@ -0,0 +1,49 @@
+package com.jntm.catalog;
+
+import com.jntm.dto.FundDTO;
+
+import java.math.BigDecimal;
+import java.util.function.Function;
+
+/**
+ * 基金数值指标
+ * 每个指标在列式存储中对应一列，按基金序号存放
+ *
+ * @author JNTM Team
+ * @since 1.0.0
+ */
+public enum FundMetric {
+
+    NAV("单位净值", FundDTO::getNav),
+    DAILY_GROWTH_RATE("日增长率", FundDTO::getDailyGrowthRate),
+    ONE_MONTH_RETURN("近1月收益率", FundDTO::getOneMonthReturn),
+    THREE_MONTH_RETURN("近3月收益率", FundDTO::getThreeMonthReturn),
+    SIX_MONTH_RETURN("近6月收益率", FundDTO::getSixMonthReturn),
+    ONE_YEAR_RETURN("近1年收益率", FundDTO::getOneYearReturn),
+    SINCE_INCEPTION_RETURN("成立以来收益率", FundDTO::getSinceInceptionReturn),
+    ANNUALIZED_RETURN("年化收益率", FundDTO::getAnnualizedReturn),
+    MAX_DRAWDOWN("最大回撤", FundDTO::getMaxDrawdown),
+    SHARPE_RATIO("夏普比率", FundDTO::getSharpeRatio),
+    FUND_SIZE("基金规模", FundDTO::getFundSize),
+    MANAGEMENT_FEE("管理费率", FundDTO::getManagementFee),
+    MINIMUM_INVESTMENT("最低投资金额", FundDTO::getMinimumInvestment);
+
+    private final String description;
+    private final Function<FundDTO, BigDecimal> extractor;
+
+    FundMetric(String description, Function<FundDTO, BigDecimal> extractor) {
+        this.description = description;
+        this.extractor = extractor;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * 从基金中读取该指标
+     */
+    public BigDecimal extract(FundDTO fund) {
+        return extractor.apply(fund);
+    }
+}
@@ -0,0 +1,380 @@
+package com.jntm.catalog;
+
+import com.jntm.dto.FundDTO;
+import com.jntm.dto.FundScreenRequest;
+import com.jntm.entity.Fund;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * 基金指标列式存储
+ * 每个 {@link FundMetric} 一列，按基金序号存放放大10^4倍后的long值，空值用 {@link #NULL} 表示；
+ * 筛选时逐列生成位图并按位与，不物化Fund实体，也不产生BigDecimal
+ *
+ * 列随基金目录刷新重建：基金集合未变化时复制旧列并只更新变化的基金，否则全量重建
+ *
+ * @author JNTM Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class FundMetricsStore {
+
+    /**
+     * 空值标记
+     */
+    public static final long NULL = Long.MIN_VALUE;
+
+    /**
+     * 放大倍数（保留4位小数，与数据库精度一致）
+     */
+    public static final int SCALE = 4;
+
+    private static final int WORDS_PER_TASK = 256;
+
+    /**
+     * 基金数量达到该值时并行计算位图
+     */
+    @Value("${jntm.fund-catalog.parallel-screen-threshold:50000}")
+    private int parallelThreshold;
+
+    private volatile Columns columns = new Columns(FundCatalog.empty(), new long[FundMetric.values().length][0]);
+
+    /**
+     * 基金目录刷新后更新指标列
+     */
+    @Order(0)
+    @EventListener
+    public void onCatalogRefreshed(FundCatalogRefreshedEvent event) {
+        FundCatalog catalog = event.getCatalog();
+        Columns previous = columns;
+
+        boolean sameLayout = event.getRemovedCodes().isEmpty()
+                && previous.catalog.size() == catalog.size()
+                && previous.catalog == event.getPrevious();
+
+        long[][] values;
+        if (sameLayout) {
+            values = new long[previous.values.length][];
+            for (int m = 0; m < values.length; m++) {
+                values[m] = previous.values[m].clone();
+            }
+            for (String code : event.getChangedCodes()) {
+                int ordinal = catalog.ordinalOf(code);
+                if (ordinal >= 0) {
+                    fill(values, catalog.get(ordinal), ordinal);
+                }
+            }
+        } else {
+            values = new long[FundMetric.values().length][catalog.size()];
+            for (int ordinal = 0; ordinal < catalog.size(); ordinal++) {
+                fill(values, catalog.get(ordinal), ordinal);
+            }
+        }
+
+        columns = new Columns(catalog, values);
+        log.debug("基金指标列更新完成: size={}, incremental={}", catalog.size(), sameLayout);
+    }
+
+    /**
+     * 当前列对应的基金目录
+     */
+    public FundCatalog getCatalog() {
+        return columns.catalog;
+    }
+
+    /**
+     * 读取指标原始值（放大10^4倍），空值返回 {@link #NULL}
+     */
+    public long rawValue(FundMetric metric, int ordinal) {
+        return columns.values[metric.ordinal()][ordinal];
+    }
+
+    /**
+     * BigDecimal转为放大后的long
+     * 超出long范围时截断到 [Long.MIN_VALUE + 1, Long.MAX_VALUE]（Long.MIN_VALUE 表示空值），
+     * 作为筛选边界时语义不变
+     */
+    public static long toScaled(BigDecimal value) {
+        if (value == null) {
+            return NULL;
+        }
+        BigInteger unscaled = value.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue();
+        if (unscaled.bitLength() >= Long.SIZE) {
+            return unscaled.signum() > 0 ? Long.MAX_VALUE : NULL + 1;
+        }
+        return Math.max(unscaled.longValue(), NULL + 1);
+    }
+
+    /**
+     * 放大后的long转回BigDecimal
+     */
+    public static BigDecimal fromScaled(long value) {
+        return value == NULL ? null : BigDecimal.valueOf(value, SCALE);
+    }
+
+    /**
+     * 多条件筛选基金
+     *
+     * @param request 筛选条件
+     * @return 分页结果
+     */
+    public Page<FundDTO> screen(FundScreenRequest request) {
+        Columns current = columns;
+        FundCatalog catalog = current.catalog;
+        int size = catalog.size();
+        PageRequest pageable = PageRequest.of(request.getPage(), request.getSize());
+        if (size == 0) {
+            return new PageImpl<>(List.of(), pageable, 0);
+        }
+
+        long[] bits = new long[(size + 63) >>> 6];
+        Arrays.fill(bits, -1L);
+        int tail = size & 63;
+        if (tail != 0) {
+            bits[bits.length - 1] = (1L << tail) - 1;
+        }
+
+        // 分类条件：由目录索引直接生成位图
+        if (request.getFundTypes() != null && !request.getFundTypes().isEmpty()) {
+            long[] mask = new long[bits.length];
+            for (Fund.FundType type : request.getFundTypes()) {
+                setBits(mask, catalog.ordinalsByType(type));
+            }
+            and(bits, mask);
+        }
+        if (request.getRiskLevels() != null && !request.getRiskLevels().isEmpty()) {
+            long[] mask = new long[bits.length];
+            for (Fund.RiskLevel level : request.getRiskLevels()) {
+                setBits(mask, catalog.ordinalsByRiskLevel(level));
+            }
+            and(bits, mask);
+        }
+        if (request.getStatus() != null) {
+            long[] mask = new long[bits.length];
+            setBits(mask, catalog.ordinalsByStatus(request.getStatus()));
+            and(bits, mask);
+        }
+
+        // 指标区间条件：逐列与到位图上
+        if (request.getRanges() != null) {
+            boolean parallel = size >= parallelThreshold;
+            for (FundScreenRequest.MetricRange range : request.getRanges()) {
+                long[] column = current.values[range.getMetric().ordinal()];
+                long min = range.getMin() != null ? toScaled(range.getMin()) : Long.MIN_VALUE + 1;
+                long max = range.getMax() != null ? toScaled(range.getMax()) : Long.MAX_VALUE;
+                applyRange(bits, column, min, max, size, parallel);
+            }
+        }
+
+        int total = 0;
+        for (long word : bits) {
+            total += Long.bitCount(word);
+        }
+
+        int from = (int) Math.min(pageable.getOffset(), total);
+        int to = Math.min(from + pageable.getPageSize(), total);
+        int[] pageOrdinals = request.getSortBy() == null
+                ? selectInOrder(bits, from, to)
+                : selectTop(bits, current.values[request.getSortBy().ordinal()],
+                        !"asc".equalsIgnoreCase(request.getSortDir()), from, to);
+
+        List<FundDTO> content = new ArrayList<>(pageOrdinals.length);
+        for (int ordinal : pageOrdinals) {
+            content.add(catalog.get(ordinal));
+        }
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    private static void fill(long[][] values, FundDTO fund, int ordinal) {
+        for (FundMetric metric : FundMetric.values()) {
+            values[metric.ordinal()][ordinal] = toScaled(metric.extract(fund));
+        }
+    }
+
+    private static void setBits(long[] bits, int[] ordinals) {
+        for (int ordinal : ordinals) {
+            bits[ordinal >>> 6] |= 1L << ordinal;
+        }
+    }
+
+    private static void and(long[] bits, long[] mask) {
+        for (int i = 0; i < bits.length; i++) {
+            bits[i] &= mask[i];
+        }
+    }
+
+    /**
+     * 将区间条件与到位图上，大目录时按字分块并行
+     */
+    private static void applyRange(long[] bits, long[] column, long min, long max, int size, boolean parallel) {
+        if (parallel) {
+            int tasks = (bits.length + WORDS_PER_TASK - 1) / WORDS_PER_TASK;
+            IntStream.range(0, tasks).parallel().forEach(task -> {
+                int fromWord = task * WORDS_PER_TASK;
+                applyRange(bits, column, min, max, size, fromWord, Math.min(fromWord + WORDS_PER_TASK, bits.length));
+            });
+        } else {
+            applyRange(bits, column, min, max, size, 0, bits.length);
+        }
+    }
+
+    private static void applyRange(long[] bits, long[] column, long min, long max, int size,
+                                   int fromWord, int toWord) {
+        for (int w = fromWord; w < toWord; w++) {
+            long word = bits[w];
+            if (word == 0) {
+                continue;
+            }
+            long keep = 0;
+            int base = w << 6;
+            int end = Math.min(base + 64, size);
+            for (int ordinal = base; ordinal < end; ordinal++) {
+                long value = column[ordinal];
+                // NULL小于任何下界，无需单独判断
+                if (value >= min && value <= max) {
+                    keep |= 1L << ordinal;
+                }
+            }
+            bits[w] = word & keep;
+        }
+    }
+
+    /**
+     * 按序号顺序取位图中第from到to个命中的基金
+     */
+    private static int[] selectInOrder(long[] bits, int from, int to) {
+        int[] result = new int[to - from];
+        int seen = 0;
+        int n = 0;
+        for (int w = 0; w < bits.length && n < result.length; w++) {
+            long word = bits[w];
+            while (word != 0 && n < result.length) {
+                int ordinal = (w << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+                if (seen++ >= from) {
+                    result[n++] = ordinal;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 按指标排序取第from到to个命中的基金
+     * 用大小为to的原始类型堆做部分排序，空值排在最后
+     */
+    private static int[] selectTop(long[] bits, long[] column, boolean descending, int from, int to) {
+        if (to <= from) {
+            return new int[0];
+        }
+
+        // 堆顶为当前保留集合中"最差"的元素
+        int[] heap = new int[to];
+        int heapSize = 0;
+        for (int w = 0; w < bits.length; w++) {
+            long word = bits[w];
+            while (word != 0) {
+                int ordinal = (w << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+                if (heapSize < to) {
+                    heap[heapSize] = ordinal;
+                    siftUp(heap, heapSize++, column, descending);
+                } else if (better(ordinal, heap[0], column, descending)) {
+                    heap[0] = ordinal;
+                    siftDown(heap, heapSize, column, descending);
+                }
+            }
+        }
+
+        // 依次弹出最差元素，倒序填充得到从好到差的顺序
+        int[] sorted = new int[heapSize];
+        for (int i = heapSize - 1; i >= 0; i--) {
+            sorted[i] = heap[0];
+            heap[0] = heap[--heapSize];
+            siftDown(heap, heapSize, column, descending);
+        }
+        return Arrays.copyOfRange(sorted, from, sorted.length);
+    }
+
+    /**
+     * a是否排在b之前：非空优先，再按指标，最后按序号
+     */
+    private static boolean better(int a, int b, long[] column, boolean descending) {
+        long va = column[a];
+        long vb = column[b];
+        if (va != vb) {
+            if (va == NULL) {
+                return false;
+            }
+            if (vb == NULL) {
+                return true;
+            }
+            return descending ? va > vb : va < vb;
+        }
+        return a < b;
+    }
+
+    private static void siftUp(int[] heap, int index, long[] column, boolean descending) {
+        int item = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!better(heap[parent], item, column, descending)) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = item;
+    }
+
+    private static void siftDown(int[] heap, int size, long[] column, boolean descending) {
+        if (size == 0) {
+            return;
+        }
+        int item = heap[0];
+        int index = 0;
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            int right = child + 1;
+            if (right < size && better(heap[child], heap[right], column, descending)) {
+                child = right;
+            }
+            if (!better(item, heap[child], column, descending)) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = item;
+    }
+
+    /**
+     * 列快照：与生成它的目录绑定，保证序号一致
+     */
+    private static final class Columns {
+
+        private final FundCatalog catalog;
+        private final long[][] values;
+
+        private Columns(FundCatalog catalog, long[][] values) {
+            this.catalog = catalog;
+            this.values = values;
+        }
+    }
+}
@@ -0,0 +1,361 @@
+package com.jntm.catalog;
+
+import com.jntm.dto.FundDTO;
+import lombok.extern.slf4j.Slf4j;
+import net.sourceforge.pinyin4j.PinyinHelper;
+import net.sourceforge.pinyin4j.format.HanyuPinyinCaseType;
+import net.sourceforge.pinyin4j.format.HanyuPinyinOutputFormat;
+import net.sourceforge.pinyin4j.format.HanyuPinyinToneType;
+import net.sourceforge.pinyin4j.format.exception.BadHanyuPinyinOutputFormatCombination;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 基金检索索引
+ * 对基金名称、基金代码、基金公司及名称/公司的拼音首字母建立一元/二元n-gram倒排表，
+ * 查询时对n-gram倒排表求交集得到候选，再逐字段校验并打分排序，替代 LIKE %x% 全表扫描
+ *
+ * 每只基金的分词结果按基金代码缓存，目录刷新时只对变化的基金重新分词，
+ * 倒排表由缓存的分词结果重建后整体替换
+ *
+ * @author JNTM Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class FundSearchIndex {
+
+    private static final int[] NO_ORDINALS = new int[0];
+
+    /**
+     * 匹配得分：代码精确 > 代码前缀 > 名称前缀 > 拼音首字母前缀 > 名称包含 > 拼音包含 > 公司前缀 > 公司包含
+     */
+    private static final int SCORE_CODE_EXACT = 1000;
+    private static final int SCORE_CODE_PREFIX = 800;
+    private static final int SCORE_NAME_PREFIX = 600;
+    private static final int SCORE_PINYIN_PREFIX = 500;
+    private static final int SCORE_NAME_CONTAINS = 400;
+    private static final int SCORE_PINYIN_CONTAINS = 300;
+    private static final int SCORE_CODE_CONTAINS = 250;
+    private static final int SCORE_COMPANY_PREFIX = 200;
+    private static final int SCORE_COMPANY_CONTAINS = 100;
+
+    private static final HanyuPinyinOutputFormat PINYIN_FORMAT = new HanyuPinyinOutputFormat();
+
+    static {
+        PINYIN_FORMAT.setCaseType(HanyuPinyinCaseType.LOWERCASE);
+        PINYIN_FORMAT.setToneType(HanyuPinyinToneType.WITHOUT_TONE);
+    }
+
+    private final Object rebuildLock = new Object();
+
+    /**
+     * 分词缓存（基金代码 -> 分词结果），仅在重建时访问
+     */
+    private Map<String, DocTokens> tokenCache = new HashMap<>();
+
+    private volatile Snapshot snapshot = new Snapshot(FundCatalog.empty(), new DocTokens[0], Collections.emptyMap());
+
+    /**
+     * 基金目录刷新后增量重建索引
+     */
+    @EventListener
+    public void onCatalogRefreshed(FundCatalogRefreshedEvent event) {
+        rebuild(event.getCatalog(), event.getChangedCodes());
+    }
+
+    /**
+     * 按新目录重建索引，只对changedCodes中的基金以及缓存中缺失的基金重新分词
+     */
+    public void rebuild(FundCatalog catalog, Set<String> changedCodes) {
+        synchronized (rebuildLock) {
+            long start = System.nanoTime();
+            int size = catalog.size();
+            DocTokens[] docs = new DocTokens[size];
+            Map<String, DocTokens> nextCache = new HashMap<>(size * 2);
+            int tokenized = 0;
+
+            for (int ordinal = 0; ordinal < size; ordinal++) {
+                FundDTO fund = catalog.get(ordinal);
+                DocTokens tokens = tokenCache.get(fund.getFundCode());
+                if (tokens == null || changedCodes.contains(fund.getFundCode())) {
+                    tokens = DocTokens.of(fund);
+                    tokenized++;
+                }
+                docs[ordinal] = tokens;
+                nextCache.put(fund.getFundCode(), tokens);
+            }
+
+            // 按序号升序追加，倒排表天然有序
+            Map<String, IntList> postingLists = new HashMap<>();
+            for (int ordinal = 0; ordinal < size; ordinal++) {
+                for (String gram : docs[ordinal].grams) {
+                    postingLists.computeIfAbsent(gram, k -> new IntList()).add(ordinal);
+                }
+            }
+            Map<String, int[]> postings = new HashMap<>(postingLists.size() * 2);
+            postingLists.forEach((gram, list) -> postings.put(gram, list.toArray()));
+
+            tokenCache = nextCache;
+            snapshot = new Snapshot(catalog, docs, postings);
+            log.info("基金检索索引重建完成: size={}, 重新分词={}, grams={}, 耗时={}ms",
+                    size, tokenized, postings.size(), (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    /**
+     * 检索基金
+     *
+     * @param query    关键字（名称、代码、公司或拼音首字母的任意片段）
+     * @param pageable 分页参数
+     * @return 按相关度排序的分页结果
+     */
+    public Page<FundDTO> search(String query, Pageable pageable) {
+        Snapshot current = snapshot;
+        String q = normalize(query);
+        if (q.isEmpty()) {
+            return new PageImpl<>(Collections.emptyList(), pageable, 0);
+        }
+
+        int[] candidates = current.candidates(q);
+        long[] ranked = new long[candidates.length];
+        int matched = 0;
+        for (int ordinal : candidates) {
+            int score = current.docs[ordinal].score(q);
+            if (score > 0) {
+                // 高位存得分（取反使升序排序即为得分降序），低位存序号
+                ranked[matched++] = ((long) (Integer.MAX_VALUE - score) << 32) | ordinal;
+            }
+        }
+        Arrays.sort(ranked, 0, matched);
+
+        int from = (int) Math.min(pageable.getOffset(), matched);
+        int to = Math.min(from + pageable.getPageSize(), matched);
+        List<FundDTO> content = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            content.add(current.catalog.get((int) ranked[i]));
+        }
+        return new PageImpl<>(content, pageable, matched);
+    }
+
+    /**
+     * 规范化：全角转半角、转小写、去除空白
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase();
+        StringBuilder sb = new StringBuilder(normalized.length());
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (!Character.isWhitespace(c)) {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 拼音首字母，非汉字字符原样保留（多音字取第一个读音）
+     */
+    static String pinyinInitials(String normalized) {
+        StringBuilder sb = new StringBuilder(normalized.length());
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (Character.UnicodeScript.of(c) == Character.UnicodeScript.HAN) {
+                try {
+                    String[] readings = PinyinHelper.toHanyuPinyinStringArray(c, PINYIN_FORMAT);
+                    if (readings != null && readings.length > 0 && !readings[0].isEmpty()) {
+                        sb.append(readings[0].charAt(0));
+                    }
+                } catch (BadHanyuPinyinOutputFormatCombination ex) {
+                    // 输出格式固定，不会发生
+                }
+            } else if (Character.isLetterOrDigit(c)) {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 索引快照
+     */
+    private static final class Snapshot {
+
+        private final FundCatalog catalog;
+        private final DocTokens[] docs;
+        private final Map<String, int[]> postings;
+
+        private Snapshot(FundCatalog catalog, DocTokens[] docs, Map<String, int[]> postings) {
+            this.catalog = catalog;
+            this.docs = docs;
+            this.postings = postings;
+        }
+
+        /**
+         * 候选基金：单字符查一元倒排表，否则对查询的全部二元gram倒排表求交集
+         */
+        private int[] candidates(String q) {
+            if (q.length() == 1) {
+                return postings.getOrDefault(q, NO_ORDINALS);
+            }
+
+            Set<String> grams = new LinkedHashSet<>();
+            for (int i = 0; i + 2 <= q.length(); i++) {
+                grams.add(q.substring(i, i + 2));
+            }
+
+            List<int[]> lists = new ArrayList<>(grams.size());
+            for (String gram : grams) {
+                int[] list = postings.get(gram);
+                if (list == null) {
+                    return NO_ORDINALS;
+                }
+                lists.add(list);
+            }
+            lists.sort((a, b) -> Integer.compare(a.length, b.length));
+
+            int[] result = lists.get(0);
+            for (int i = 1; i < lists.size() && result.length > 0; i++) {
+                result = intersect(result, lists.get(i));
+            }
+            return result;
+        }
+
+        private static int[] intersect(int[] a, int[] b) {
+            int[] result = new int[Math.min(a.length, b.length)];
+            int i = 0, j = 0, n = 0;
+            while (i < a.length && j < b.length) {
+                if (a[i] < b[j]) {
+                    i++;
+                } else if (a[i] > b[j]) {
+                    j++;
+                } else {
+                    result[n++] = a[i];
+                    i++;
+                    j++;
+                }
+            }
+            return Arrays.copyOf(result, n);
+        }
+    }
+
+    /**
+     * 单只基金的分词结果
+     */
+    private static final class DocTokens {
+
+        private final String code;
+        private final String name;
+        private final String namePinyin;
+        private final String company;
+        private final String companyPinyin;
+        private final String[] grams;
+
+        private DocTokens(String code, String name, String namePinyin, String company, String companyPinyin) {
+            this.code = code;
+            this.name = name;
+            this.namePinyin = namePinyin;
+            this.company = company;
+            this.companyPinyin = companyPinyin;
+
+            Set<String> gramSet = new LinkedHashSet<>();
+            addGrams(gramSet, code);
+            addGrams(gramSet, name);
+            addGrams(gramSet, namePinyin);
+            addGrams(gramSet, company);
+            addGrams(gramSet, companyPinyin);
+            this.grams = gramSet.toArray(new String[0]);
+        }
+
+        private static DocTokens of(FundDTO fund) {
+            String name = normalize(fund.getFundName());
+            String company = normalize(fund.getFundCompany());
+            return new DocTokens(normalize(fund.getFundCode()), name, pinyinInitials(name),
+                    company, pinyinInitials(company));
+        }
+
+        private static void addGrams(Set<String> target, String text) {
+            for (int i = 0; i < text.length(); i++) {
+                target.add(text.substring(i, i + 1));
+                if (i + 2 <= text.length()) {
+                    target.add(text.substring(i, i + 2));
+                }
+            }
+        }
+
+        /**
+         * 计算匹配得分，不匹配返回0
+         * 同一档内字段越短得分越高，使更贴近查询的结果排前
+         */
+        private int score(String q) {
+            if (code.equals(q)) {
+                return SCORE_CODE_EXACT;
+            }
+            if (code.startsWith(q)) {
+                return SCORE_CODE_PREFIX;
+            }
+            if (name.startsWith(q)) {
+                return SCORE_NAME_PREFIX - lengthPenalty(name);
+            }
+            if (namePinyin.startsWith(q)) {
+                return SCORE_PINYIN_PREFIX - lengthPenalty(namePinyin);
+            }
+            if (name.contains(q)) {
+                return SCORE_NAME_CONTAINS - lengthPenalty(name);
+            }
+            if (namePinyin.contains(q)) {
+                return SCORE_PINYIN_CONTAINS - lengthPenalty(namePinyin);
+            }
+            if (code.contains(q)) {
+                return SCORE_CODE_CONTAINS;
+            }
+            if (company.startsWith(q) || companyPinyin.startsWith(q)) {
+                return SCORE_COMPANY_PREFIX - lengthPenalty(company);
+            }
+            if (company.contains(q) || companyPinyin.contains(q)) {
+                return SCORE_COMPANY_CONTAINS - lengthPenalty(company);
+            }
+            return 0;
+        }
+
+        private static int lengthPenalty(String field) {
+            return Math.min(field.length(), 49);
+        }
+    }
+
+    /**
+     * 简单的int动态数组，避免倒排表构建时装箱
+     */
+    private static final class IntList {
+
+        private int[] values = new int[4];
+        private int size;
+
+        private void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        private int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
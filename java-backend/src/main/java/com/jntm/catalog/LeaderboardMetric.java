@@ -0,0 +1,34 @@
+package com.jntm.catalog;
+
+/**
+ * 排行榜指标
+ *
+ * @author JNTM Team
+ * @since 1.0.0
+ */
+public enum LeaderboardMetric {
+
+    ONE_YEAR_RETURN(FundMetric.ONE_YEAR_RETURN, false),
+    SHARPE_RATIO(FundMetric.SHARPE_RATIO, false),
+    ANNUALIZED_RETURN(FundMetric.ANNUALIZED_RETURN, false),
+    /**
+     * 最大回撤越小越好，升序排列
+     */
+    MAX_DRAWDOWN(FundMetric.MAX_DRAWDOWN, true);
+
+    private final FundMetric metric;
+    private final boolean ascending;
+
+    LeaderboardMetric(FundMetric metric, boolean ascending) {
+        this.metric = metric;
+        this.ascending = ascending;
+    }
+
+    public FundMetric getMetric() {
+        return metric;
+    }
+
+    public boolean isAscending() {
+        return ascending;
+    }
+}
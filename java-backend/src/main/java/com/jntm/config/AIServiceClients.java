@@ -0,0 +1,92 @@
+package com.jntm.config;
+
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Python下游服务客户端
+ * 每个下游服务（ai/ocr/analytics）持有启动时构建好的 WebClient、独立连接池和超时配置，
+ * 调用方直接复用，某个服务变慢不会占满其他服务的连接
+ *
+ * @author JNTM Team
+ * @since 1.0.0
+ */
+public class AIServiceClients {
+
+    /**
+     * 下游服务
+     */
+    public enum Downstream {
+        AI("ai"),
+        OCR("ocr"),
+        ANALYTICS("analytics");
+
+        private final String key;
+
+        Downstream(String key) {
+            this.key = key;
+        }
+
+        /**
+         * 配置项和指标中使用的名称
+         */
+        public String getKey() {
+            return key;
+        }
+    }
+
+    private final Map<Downstream, Entry> clients = new EnumMap<>(Downstream.class);
+
+    void register(Downstream downstream, WebClient client, ConnectionProvider pool, Duration timeout) {
+        clients.put(downstream, new Entry(client, pool, timeout));
+    }
+
+    /**
+     * 获取下游服务的 WebClient
+     */
+    public WebClient client(Downstream downstream) {
+        return clients.get(downstream).client();
+    }
+
+    /**
+     * 获取下游服务的单次调用超时
+     */
+    public Duration timeout(Downstream downstream) {
+        return clients.get(downstream).timeout();
+    }
+
+    /**
+     * AI服务客户端
+     */
+    public WebClient ai() {
+        return client(Downstream.AI);
+    }
+
+    /**
+     * OCR服务客户端
+     */
+    public WebClient ocr() {
+        return client(Downstream.OCR);
+    }
+
+    /**
+     * 数据分析服务客户端
+     */
+    public WebClient analytics() {
+        return client(Downstream.ANALYTICS);
+    }
+
+    /**
+     * 释放全部连接池
+     */
+    public void dispose() {
+        clients.values().forEach(entry -> entry.pool().dispose());
+    }
+
+    private record Entry(WebClient client, ConnectionProvider pool, Duration timeout) {
+    }
+}
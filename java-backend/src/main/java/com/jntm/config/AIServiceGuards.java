@@ -0,0 +1,144 @@
+package com.jntm.config;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Python下游接口的熔断与隔离
+ * 每个接口（对话、分析、OCR、数据分析、风险评估）有独立的熔断器和信号量隔离舱，
+ * 配置见 resilience4j.circuitbreaker/bulkhead.instances；熔断打开或并发已满时立即失败，
+ * 不再占用连接池和重试，状态指标由 resilience4j 自动注册到 Micrometer
+ *
+ * @author JNTM Team
+ * @since 1.0.0
+ */
+@Component
+public class AIServiceGuards {
+
+    /**
+     * 受保护的下游接口
+     */
+    public enum Endpoint {
+        CHAT("ai-chat"),
+        CHAT_STREAM("ai-chat-stream"),
+        ANALYZE("ai-analyze"),
+        OCR("ocr"),
+        ANALYTICS("analytics"),
+        RISK("risk-assessment");
+
+        private final String instanceName;
+
+        Endpoint(String instanceName) {
+            this.instanceName = instanceName;
+        }
+
+        /**
+         * 熔断器和隔离舱的实例名（配置项和指标标签）
+         */
+        public String getInstanceName() {
+            return instanceName;
+        }
+    }
+
+    private final Map<Endpoint, CircuitBreaker> circuitBreakers = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, Bulkhead> bulkheads = new EnumMap<>(Endpoint.class);
+
+    public AIServiceGuards(CircuitBreakerRegistry circuitBreakerRegistry, BulkheadRegistry bulkheadRegistry) {
+        for (Endpoint endpoint : Endpoint.values()) {
+            circuitBreakers.put(endpoint, circuitBreakerRegistry.circuitBreaker(endpoint.getInstanceName()));
+            bulkheads.put(endpoint, bulkheadRegistry.bulkhead(endpoint.getInstanceName()));
+        }
+    }
+
+    /**
+     * 为单次上游调用加上隔离舱和熔断器
+     * 隔离舱在外层，并发已满被拒绝的调用不计入熔断统计；拒绝统一转换为 {@link UnavailableException}
+     */
+    public <T> Mono<T> protect(Endpoint endpoint, Mono<T> call) {
+        return call
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreakers.get(endpoint)))
+                .transformDeferred(BulkheadOperator.of(bulkheads.get(endpoint)))
+                .onErrorMap(CallNotPermittedException.class,
+                        ex -> new UnavailableException(endpoint, "熔断中", retryAfter(endpoint)))
+                .onErrorMap(BulkheadFullException.class,
+                        ex -> new UnavailableException(endpoint, "并发已满", Duration.ofSeconds(1)));
+    }
+
+    /**
+     * 为流式上游调用加上隔离舱和熔断器，整个流占用一个并发名额直到结束或取消
+     */
+    public <T> Flux<T> protect(Endpoint endpoint, Flux<T> call) {
+        return call
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreakers.get(endpoint)))
+                .transformDeferred(BulkheadOperator.of(bulkheads.get(endpoint)))
+                .onErrorMap(CallNotPermittedException.class,
+                        ex -> new UnavailableException(endpoint, "熔断中", retryAfter(endpoint)))
+                .onErrorMap(BulkheadFullException.class,
+                        ex -> new UnavailableException(endpoint, "并发已满", Duration.ofSeconds(1)));
+    }
+
+    /**
+     * 是否值得重试：被熔断或隔离舱拒绝的调用不重试
+     */
+    public static boolean isRetryable(Throwable ex) {
+        return !(ex instanceof UnavailableException
+                || ex instanceof CallNotPermittedException
+                || ex instanceof BulkheadFullException);
+    }
+
+    /**
+     * 各接口熔断器当前状态
+     */
+    public Map<String, String> states() {
+        Map<String, String> states = new LinkedHashMap<>();
+        circuitBreakers.forEach((endpoint, breaker) ->
+                states.put(endpoint.getInstanceName(), breaker.getState().name()));
+        return states;
+    }
+
+    private Duration retryAfter(Endpoint endpoint) {
+        CircuitBreaker breaker = circuitBreakers.get(endpoint);
+        long waitMillis = breaker.getCircuitBreakerConfig().getWaitIntervalFunctionInOpenState().apply(1);
+        return Duration.ofMillis(Math.max(waitMillis, 1000));
+    }
+
+    /**
+     * 下游接口暂不可用（熔断打开或并发已满），调用方应快速失败并提示稍后重试
+     */
+    public static class UnavailableException extends RuntimeException {
+
+        private final Endpoint endpoint;
+        private final Duration retryAfter;
+
+        public UnavailableException(Endpoint endpoint, String reason, Duration retryAfter) {
+            super("下游接口暂不可用(" + endpoint.getInstanceName() + "): " + reason);
+            this.endpoint = endpoint;
+            this.retryAfter = retryAfter;
+        }
+
+        public Endpoint getEndpoint() {
+            return endpoint;
+        }
+
+        /**
+         * 建议的重试等待时间
+         */
+        public Duration getRetryAfter() {
+            return retryAfter;
+        }
+    }
+}
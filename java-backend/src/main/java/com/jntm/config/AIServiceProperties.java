@@ -0,0 +1,96 @@
+package com.jntm.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Python AI服务配置属性
+ * 按下游服务（ai/ocr/analytics）分别配置连接池和超时，未配置的项沿用默认值
+ *
+ * @author JNTM Team
+ * @since 1.0.0
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "jntm.ai-service")
+public class AIServiceProperties {
+
+    /**
+     * 默认服务地址
+     */
+    private String baseUrl = "http://localhost:5081";
+
+    /**
+     * 默认单次调用超时（毫秒）
+     */
+    private Duration timeout = Duration.ofSeconds(30);
+
+    /**
+     * 重试次数
+     */
+    private int retryAttempts = 3;
+
+    /**
+     * 按下游服务名称的客户端配置
+     */
+    private Map<String, Client> clients = new HashMap<>();
+
+    /**
+     * 获取指定下游服务的客户端配置，未配置时返回默认值
+     */
+    public Client getClient(String name) {
+        return clients.getOrDefault(name, new Client());
+    }
+
+    /**
+     * 下游服务客户端配置
+     */
+    @Data
+    public static class Client {
+
+        /**
+         * 服务地址，为空时使用默认服务地址
+         */
+        private String baseUrl;
+
+        /**
+         * 单次调用超时，为空时使用默认超时
+         */
+        private Duration timeout;
+
+        /**
+         * 建立连接超时
+         */
+        private Duration connectTimeout = Duration.ofSeconds(5);
+
+        /**
+         * 最大连接数
+         */
+        private int maxConnections = 50;
+
+        /**
+         * 等待获取连接的最大请求数
+         */
+        private int pendingAcquireMaxCount = 100;
+
+        /**
+         * 等待获取连接超时
+         */
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(5);
+
+        /**
+         * 连接最大空闲时间
+         */
+        private Duration maxIdleTime = Duration.ofMinutes(5);
+
+        /**
+         * 连接最大生命周期
+         */
+        private Duration maxLifeTime = Duration.ofMinutes(10);
+    }
+}
@@ -1,5 +1,12 @@
 package com.jntm.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jntm.cache.BinaryCacheSerializer;
+import com.jntm.cache.SmileCacheValueCodec;
+import com.jntm.cache.TwoLevelCacheManager;
+import com.jntm.cache.TwoLevelCacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -8,11 +15,14 @@ import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
-import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * Redis配置类
@@ -49,12 +59,22 @@ public class RedisConfig {
         return factory;
     }
 
+    /**
+     * 缓存值序列化器
+     * Smile二进制编码 + 版本信封，超过阈值时LZ4压缩；兼容读取旧版JSON条目
+     */
+    @Bean
+    public BinaryCacheSerializer cacheValueSerializer(TwoLevelCacheProperties cacheProperties) {
+        return new BinaryCacheSerializer(new SmileCacheValueCodec(), cacheProperties.getCompressionThreshold());
+    }
+
     /**
      * RedisTemplate配置
      * 设置Key和Value的序列化方式
      */
     @Bean
-    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory) {
+    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory,
+                                                       BinaryCacheSerializer cacheValueSerializer) {
         RedisTemplate<String, Object> template = new RedisTemplate<>();
         template.setConnectionFactory(connectionFactory);
 
@@ -64,32 +84,64 @@ public class RedisConfig {
         template.setHashKeySerializer(stringRedisSerializer);
 
         // 设置Value的序列化方式
-        GenericJackson2JsonRedisSerializer jsonRedisSerializer = new GenericJackson2JsonRedisSerializer();
-        template.setValueSerializer(jsonRedisSerializer);
-        template.setHashValueSerializer(jsonRedisSerializer);
+        template.setValueSerializer(cacheValueSerializer);
+        template.setHashValueSerializer(cacheValueSerializer);
 
         template.afterPropertiesSet();
         return template;
     }
 
     /**
-     * Redis缓存管理器配置
+     * 二级缓存管理器配置
+     * L1为进程内Caffeine缓存，L2为Redis共享缓存
      */
     @Bean
-    public RedisCacheManager cacheManager(RedisConnectionFactory connectionFactory) {
+    public TwoLevelCacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                             StringRedisTemplate stringRedisTemplate,
+                                             ObjectMapper objectMapper,
+                                             TwoLevelCacheProperties cacheProperties,
+                                             BinaryCacheSerializer cacheValueSerializer,
+                                             ObjectProvider<MeterRegistry> meterRegistry) {
         // 配置缓存设置
         RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(Duration.ofHours(1)) // 默认缓存1小时
+                .entryTtl(cacheProperties.getDefaultTtl()) // 默认缓存1小时
                 .serializeKeysWith(RedisSerializationContext.SerializationPair
                         .fromSerializer(new StringRedisSerializer()))
                 .serializeValuesWith(RedisSerializationContext.SerializationPair
-                        .fromSerializer(new GenericJackson2JsonRedisSerializer()))
+                        .fromSerializer(cacheValueSerializer))
                 .disableCachingNullValues(); // 不缓存null值
 
-        return RedisCacheManager.builder(connectionFactory)
+        // 按缓存名称覆盖L2过期时间
+        Map<String, RedisCacheConfiguration> perCacheConfigs = new HashMap<>();
+        cacheProperties.getTtl().forEach((name, ttl) -> perCacheConfigs.put(name, config.entryTtl(ttl)));
+
+        // L2不单独做事务装饰，由二级缓存管理器统一处理
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
                 .cacheDefaults(config)
-                .transactionAware()
+                .withInitialCacheConfigurations(perCacheConfigs)
                 .build();
+        redisCacheManager.initializeCaches();
+
+        TwoLevelCacheManager cacheManager = new TwoLevelCacheManager(
+                redisCacheManager, cacheProperties, stringRedisTemplate, objectMapper,
+                meterRegistry.getIfAvailable());
+        cacheManager.setTransactionAware(true);
+        return cacheManager;
+    }
+
+    /**
+     * 缓存失效通知监听容器
+     * 订阅其他节点发出的L1失效通知
+     */
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(
+            RedisConnectionFactory connectionFactory,
+            TwoLevelCacheManager cacheManager,
+            TwoLevelCacheProperties cacheProperties) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(cacheManager, new ChannelTopic(cacheProperties.getInvalidationChannel()));
+        return container;
     }
 
 }
\ No newline at end of file
@@ -63,4 +63,42 @@ public class WebClientConfig {
                 .defaultHeader("User-Agent", "JNTM-Java-Backend/1.0.0");
     }
 
-}
\ No newline at end of file
+    /**
+     * 创建Python下游服务客户端
+     * ai/ocr/analytics 各自使用独立连接池（含连接池和请求指标）和超时，启动时构建一次
+     */
+    @Bean(destroyMethod = "dispose")
+    public AIServiceClients aiServiceClients(WebClient.Builder webClientBuilder, AIServiceProperties properties) {
+        AIServiceClients clients = new AIServiceClients();
+        for (AIServiceClients.Downstream downstream : AIServiceClients.Downstream.values()) {
+            AIServiceProperties.Client config = properties.getClient(downstream.getKey());
+            Duration timeout = config.getTimeout() != null ? config.getTimeout() : properties.getTimeout();
+            String baseUrl = config.getBaseUrl() != null ? config.getBaseUrl() : properties.getBaseUrl();
+
+            ConnectionProvider pool = ConnectionProvider.builder("jntm-" + downstream.getKey())
+                    .maxConnections(config.getMaxConnections())
+                    .pendingAcquireMaxCount(config.getPendingAcquireMaxCount())
+                    .pendingAcquireTimeout(config.getPendingAcquireTimeout())
+                    .maxIdleTime(config.getMaxIdleTime())
+                    .maxLifeTime(config.getMaxLifeTime())
+                    .metrics(true)
+                    .build();
+
+            HttpClient httpClient = HttpClient.create(pool)
+                    .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) config.getConnectTimeout().toMillis())
+                    .responseTimeout(timeout)
+                    // 指标按路径打标签，去掉查询参数避免标签膨胀
+                    .metrics(true, uri -> {
+                        int query = uri.indexOf('?');
+                        return query >= 0 ? uri.substring(0, query) : uri;
+                    });
+
+            WebClient client = webClientBuilder.clone()
+                    .clientConnector(new ReactorClientHttpConnector(httpClient))
+                    .baseUrl(baseUrl)
+                    .build();
+            clients.register(downstream, client, pool, timeout);
+        }
+        return clients;
+    }
+}
@@ -4,6 +4,8 @@ import com.jntm.dto.ApiResponse;
 import com.jntm.dto.AuthDTO;
 import com.jntm.dto.UserDTO;
 import com.jntm.entity.User;
+import com.jntm.security.JwtClaims;
+import com.jntm.security.UserRevocationService;
 import com.jntm.service.UserService;
 import com.jntm.utils.JwtTokenUtil;
 import io.swagger.v3.oas.annotations.Operation;
@@ -41,6 +43,7 @@ public class AuthController {
     private final UserService userService;
     private final JwtTokenUtil jwtTokenUtil;
     private final AuthenticationManager authenticationManager;
+    private final UserRevocationService userRevocationService;
 
     /**
      * 用户登录
@@ -70,12 +73,13 @@ public class AuthController {
             }
 
             // 3. 生成JWT Token
-            String accessToken = jwtTokenUtil.generateAccessToken(user.getId(), user.getUsername());
+            String accessToken = jwtTokenUtil.generateAccessToken(
+                user.getId(), user.getUsername(), user.getRole(), user.getStatus().name());
             String refreshToken = jwtTokenUtil.generateRefreshToken(user.getId(), user.getUsername());
             Long expiresIn = jwtTokenUtil.getExpirationDateFromToken(accessToken).getTime() - System.currentTimeMillis();
 
-            // 4. 更新用户最后登录时间
-            userService.updateLastLoginTime(user.getId());
+            // 4. 记录最后登录时间和IP（异步批量写入）
+            userService.updateLastLogin(user.getId(), resolveClientIp(request));
 
             // 5. 转换为DTO
             UserDTO userDTO = userService.convertToDTO(user);
@@ -138,7 +142,8 @@ public class AuthController {
             UserDTO createdUser = userService.createUser(newUserDTO);
 
             // 4. 生成JWT Token
-            String accessToken = jwtTokenUtil.generateAccessToken(createdUser.getId(), createdUser.getUsername());
+            String accessToken = jwtTokenUtil.generateAccessToken(
+                createdUser.getId(), createdUser.getUsername(), createdUser.getRole(), createdUser.getStatus().name());
             String refreshToken = jwtTokenUtil.generateRefreshToken(createdUser.getId(), createdUser.getUsername());
             Long expiresIn = jwtTokenUtil.getExpirationDateFromToken(accessToken).getTime() - System.currentTimeMillis();
 
@@ -171,21 +176,28 @@ public class AuthController {
 
             log.debug("Token刷新请求");
 
-            // 1. 验证刷新Token
-            if (!jwtTokenUtil.validateRefreshToken(refreshToken)) {
+            // 1. 验证刷新Token（一次解析得到全部声明）
+            JwtClaims claims = jwtTokenUtil.verifyRefreshToken(refreshToken);
+            if (claims == null) {
                 return ResponseEntity.badRequest()
                     .body(ApiResponse.badRequest("无效的刷新Token"));
             }
 
-            // 2. 生成新的访问Token
-            String newAccessToken = jwtTokenUtil.refreshAccessToken(refreshToken);
-            String newRefreshToken = jwtTokenUtil.generateRefreshToken(
-                jwtTokenUtil.getUserIdFromToken(refreshToken),
-                jwtTokenUtil.getUsernameFromToken(refreshToken)
-            );
+            // 2. 刷新Token不携带角色，重新读取用户当前角色和状态
+            UserDTO user = userService.findById(claims.getUserId());
+            if (user == null || user.getStatus() != User.UserStatus.ACTIVE
+                    || userRevocationService.isRevoked(claims.getUserId(), claims.getIssuedAt())) {
+                return ResponseEntity.badRequest()
+                    .body(ApiResponse.badRequest("无效的刷新Token"));
+            }
+
+            // 3. 生成新的访问Token
+            String newAccessToken = jwtTokenUtil.generateAccessToken(
+                claims.getUserId(), claims.getUsername(), user.getRole(), user.getStatus().name());
+            String newRefreshToken = jwtTokenUtil.generateRefreshToken(claims.getUserId(), claims.getUsername());
             Long expiresIn = jwtTokenUtil.getExpirationDateFromToken(newAccessToken).getTime() - System.currentTimeMillis();
 
-            // 3. 构建响应
+            // 4. 构建响应
             AuthDTO.RefreshTokenResponse response = new AuthDTO.RefreshTokenResponse(
                 newAccessToken, newRefreshToken, expiresIn
             );
@@ -296,4 +308,15 @@ public class AuthController {
                 .body(ApiResponse.error("获取用户信息失败"));
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * 解析客户端IP
+     * 只信任 server.forward-headers-strategy 配置的受信代理改写的地址（由容器的 RemoteIpValve 处理），
+     * 不直接读取客户端可任意伪造的 X-Forwarded-For
+     */
+    private static String resolveClientIp(HttpServletRequest request) {
+        String ip = request.getRemoteAddr();
+        // 与 users.last_login_ip 列长度一致
+        return ip != null && ip.length() > 45 ? ip.substring(0, 45) : ip;
+    }
+}
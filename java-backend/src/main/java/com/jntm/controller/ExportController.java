@@ -0,0 +1,97 @@
+package com.jntm.controller;
+
+import com.jntm.dto.ApiResponse;
+import com.jntm.service.ExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * 数据导出控制器
+ * 提供用户、基金、持仓的全量流式导出接口（仅管理员）
+ *
+ * @author JNTM Team
+ * @since 1.0.0
+ */
+@Slf4j
+@RestController
+@RequestMapping("/admin/export")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+@Tag(name = "数据导出", description = "用户、基金、持仓流式导出接口")
+public class ExportController {
+
+    private final ExportService exportService;
+
+    /**
+     * 导出用户
+     */
+    @GetMapping("/users")
+    @Operation(summary = "导出用户", description = "按ID顺序流式导出全部用户（ndjson/csv）")
+    public ResponseEntity<?> exportUsers(
+            @Parameter(description = "导出格式（ndjson/csv）", example = "ndjson") @RequestParam(defaultValue = "ndjson") String format) {
+
+        ExportService.Format resolved = ExportService.Format.of(format);
+        if (resolved == null) {
+            return ResponseEntity.badRequest().body(ApiResponse.badRequest("不支持的导出格式，仅支持ndjson和csv"));
+        }
+        return stream("users", resolved, out -> exportService.exportUsers(out, resolved));
+    }
+
+    /**
+     * 导出基金
+     */
+    @GetMapping("/funds")
+    @Operation(summary = "导出基金", description = "按基金代码顺序导出全部基金（ndjson/csv）")
+    public ResponseEntity<?> exportFunds(
+            @Parameter(description = "导出格式（ndjson/csv）", example = "ndjson") @RequestParam(defaultValue = "ndjson") String format) {
+
+        ExportService.Format resolved = ExportService.Format.of(format);
+        if (resolved == null) {
+            return ResponseEntity.badRequest().body(ApiResponse.badRequest("不支持的导出格式，仅支持ndjson和csv"));
+        }
+        return stream("funds", resolved, out -> exportService.exportFunds(out, resolved));
+    }
+
+    /**
+     * 导出持仓
+     */
+    @GetMapping("/holdings")
+    @Operation(summary = "导出持仓", description = "按ID顺序流式导出持仓记录，可按用户筛选（ndjson/csv）")
+    public ResponseEntity<?> exportHoldings(
+            @Parameter(description = "用户ID，为空时导出全部用户") @RequestParam(required = false) Long userId,
+            @Parameter(description = "导出格式（ndjson/csv）", example = "ndjson") @RequestParam(defaultValue = "ndjson") String format) {
+
+        ExportService.Format resolved = ExportService.Format.of(format);
+        if (resolved == null) {
+            return ResponseEntity.badRequest().body(ApiResponse.badRequest("不支持的导出格式，仅支持ndjson和csv"));
+        }
+        return stream("holdings", resolved, out -> exportService.exportHoldings(userId, out, resolved));
+    }
+
+    /**
+     * 以附件形式流式写出，写出在异步线程中进行，不占用请求线程
+     */
+    private static ResponseEntity<StreamingResponseBody> stream(String name, ExportService.Format format,
+                                                                StreamingResponseBody body) {
+        String filename = name + "-" + LocalDate.now().format(DateTimeFormatter.BASIC_ISO_DATE)
+                + "." + format.getExtension();
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+}
@@ -0,0 +1,165 @@
+package com.jntm.controller;
+
+import com.jntm.catalog.LeaderboardMetric;
+import com.jntm.dto.ApiResponse;
+import com.jntm.dto.CursorPage;
+import com.jntm.dto.FundDTO;
+import com.jntm.dto.FundRankingDTO;
+import com.jntm.dto.FundScreenRequest;
+import com.jntm.entity.Fund;
+import com.jntm.service.FundService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 基金查询控制器
+ * 提供基金相关的API接口，数据来自内存中的基金目录快照
+ *
+ * @author JNTM Team
+ * @since 1.0.0
+ */
+@Slf4j
+@RestController
+@RequestMapping("/funds")
+@RequiredArgsConstructor
+@Tag(name = "基金查询", description = "基金相关的API接口")
+public class FundController {
+
+    private final FundService fundService;
+
+    /**
+     * 根据基金代码获取基金信息
+     */
+    @GetMapping("/{fundCode}")
+    @Operation(summary = "根据代码获取基金", description = "根据基金代码获取基金详细信息")
+    public ResponseEntity<ApiResponse<FundDTO>> getFund(
+            @Parameter(description = "基金代码", required = true) @PathVariable String fundCode) {
+
+        FundDTO fund = fundService.findByFundCode(fundCode);
+        if (fund == null) {
+            return ResponseEntity.ok(ApiResponse.notFound("基金不存在"));
+        }
+
+        return ResponseEntity.ok(ApiResponse.success("获取基金信息成功", fund));
+    }
+
+    /**
+     * 分页查询基金
+     */
+    @GetMapping
+    @Operation(summary = "分页查询基金", description = "分页查询基金列表，支持按类型、风险等级、公司、状态筛选")
+    public ResponseEntity<ApiResponse<Page<FundDTO>>> findFunds(
+            @Parameter(description = "基金类型筛选") @RequestParam(required = false) Fund.FundType fundType,
+            @Parameter(description = "风险等级筛选") @RequestParam(required = false) Fund.RiskLevel riskLevel,
+            @Parameter(description = "基金公司筛选") @RequestParam(required = false) String fundCompany,
+            @Parameter(description = "状态筛选") @RequestParam(required = false) Fund.FundStatus status,
+            @Parameter(description = "页码", example = "0") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "每页大小", example = "20") @RequestParam(defaultValue = "20") int size) {
+
+        if (page < 0 || size <= 0 || size > 200) {
+            return ResponseEntity.badRequest().body(ApiResponse.badRequest("分页参数无效"));
+        }
+
+        Page<FundDTO> funds = fundService.findFunds(fundType, riskLevel, fundCompany, status,
+                PageRequest.of(page, size));
+        return ResponseEntity.ok(ApiResponse.success("查询基金列表成功", funds));
+    }
+
+    /**
+     * 游标分页查询基金
+     */
+    @GetMapping("/cursor")
+    @Operation(summary = "游标分页查询基金", description = "按基金代码顺序游标分页查询基金列表，筛选条件同分页查询")
+    public ResponseEntity<ApiResponse<CursorPage<FundDTO>>> findFundsByCursor(
+            @Parameter(description = "基金类型筛选") @RequestParam(required = false) Fund.FundType fundType,
+            @Parameter(description = "风险等级筛选") @RequestParam(required = false) Fund.RiskLevel riskLevel,
+            @Parameter(description = "基金公司筛选") @RequestParam(required = false) String fundCompany,
+            @Parameter(description = "状态筛选") @RequestParam(required = false) Fund.FundStatus status,
+            @Parameter(description = "上一页返回的游标，为空时查询第一页") @RequestParam(required = false) String cursor,
+            @Parameter(description = "每页大小", example = "20") @RequestParam(defaultValue = "20") int size) {
+
+        if (size <= 0 || size > 200) {
+            return ResponseEntity.badRequest().body(ApiResponse.badRequest("分页参数无效"));
+        }
+
+        try {
+            CursorPage<FundDTO> funds = fundService.findFundsByCursor(fundType, riskLevel, fundCompany, status,
+                    cursor, size);
+            return ResponseEntity.ok(ApiResponse.success("查询基金列表成功", funds));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.badRequest(e.getMessage()));
+        }
+    }
+
+    /**
+     * 检索基金
+     */
+    @GetMapping("/search")
+    @Operation(summary = "检索基金", description = "按基金名称、代码、公司或拼音首字母检索基金，结果按相关度排序")
+    public ResponseEntity<ApiResponse<Page<FundDTO>>> searchFunds(
+            @Parameter(description = "关键字", required = true) @RequestParam String keyword,
+            @Parameter(description = "页码", example = "0") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "每页大小", example = "20") @RequestParam(defaultValue = "20") int size) {
+
+        if (page < 0 || size <= 0 || size > 200) {
+            return ResponseEntity.badRequest().body(ApiResponse.badRequest("分页参数无效"));
+        }
+
+        Page<FundDTO> funds = fundService.searchFunds(keyword, PageRequest.of(page, size));
+        return ResponseEntity.ok(ApiResponse.success("检索基金成功", funds));
+    }
+
+    /**
+     * 多条件筛选基金
+     */
+    @PostMapping("/screen")
+    @Operation(summary = "多条件筛选基金", description = "按收益率、夏普比率、最大回撤、规模等指标区间及类型、风险等级组合筛选基金")
+    public ResponseEntity<ApiResponse<Page<FundDTO>>> screenFunds(
+            @Valid @RequestBody FundScreenRequest request) {
+
+        Page<FundDTO> funds = fundService.screenFunds(request);
+        return ResponseEntity.ok(ApiResponse.success("筛选基金成功", funds));
+    }
+
+    /**
+     * 获取基金排行榜
+     */
+    @GetMapping("/leaderboards/{metric}")
+    @Operation(summary = "获取基金排行榜", description = "按近1年收益率、夏普比率、年化收益率或最大回撤获取排行榜，可按基金类型或风险等级分区")
+    public ResponseEntity<ApiResponse<List<FundRankingDTO>>> getLeaderboard(
+            @Parameter(description = "排行指标", required = true) @PathVariable LeaderboardMetric metric,
+            @Parameter(description = "基金类型分区") @RequestParam(required = false) Fund.FundType fundType,
+            @Parameter(description = "风险等级分区") @RequestParam(required = false) Fund.RiskLevel riskLevel,
+            @Parameter(description = "数量", example = "10") @RequestParam(defaultValue = "10") int limit) {
+
+        if (limit <= 0 || limit > 100) {
+            return ResponseEntity.badRequest().body(ApiResponse.badRequest("数量必须在1到100之间"));
+        }
+        if (fundType != null && riskLevel != null) {
+            return ResponseEntity.badRequest().body(ApiResponse.badRequest("基金类型和风险等级只能指定一个"));
+        }
+
+        List<FundRankingDTO> ranking = fundService.getLeaderboard(metric, fundType, riskLevel, limit);
+        return ResponseEntity.ok(ApiResponse.success("获取基金排行榜成功", ranking));
+    }
+
+    /**
+     * 获取基金公司列表
+     */
+    @GetMapping("/companies")
+    @Operation(summary = "获取基金公司列表", description = "获取全部基金公司及其基金数量")
+    public ResponseEntity<ApiResponse<Map<String, Integer>>> getCompanies() {
+        return ResponseEntity.ok(ApiResponse.success("获取基金公司列表成功", fundService.getCompanyCounts()));
+    }
+}
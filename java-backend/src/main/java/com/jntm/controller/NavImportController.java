@@ -0,0 +1,98 @@
+package com.jntm.controller;
+
+import com.jntm.dto.ApiResponse;
+import com.jntm.dto.NavImportReport;
+import com.jntm.service.NavImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 基金净值导入控制器
+ * 提供每日净值批量导入接口（仅管理员）
+ *
+ * @author JNTM Team
+ * @since 1.0.0
+ */
+@Slf4j
+@RestController
+@RequestMapping("/admin/funds/nav")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+@Tag(name = "净值导入", description = "基金净值批量导入接口")
+public class NavImportController {
+
+    private final NavImportService navImportService;
+
+    /**
+     * 导入净值文件
+     */
+    @PostMapping("/import")
+    @Operation(summary = "导入净值文件", description = "上传CSV或JSON格式的净值文件，流式校验并批量写入")
+    public ResponseEntity<ApiResponse<NavImportReport>> importNav(
+            @Parameter(description = "净值文件", required = true) @RequestParam("file") MultipartFile file,
+            @Parameter(description = "文件格式（csv/json），为空时按文件扩展名判断") @RequestParam(required = false) String format) {
+
+        String resolvedFormat = resolveFormat(file, format);
+        if (resolvedFormat == null) {
+            return ResponseEntity.badRequest().body(ApiResponse.badRequest("不支持的文件格式，仅支持csv和json"));
+        }
+
+        try (InputStream input = file.getInputStream()) {
+            NavImportReport report = "json".equals(resolvedFormat)
+                    ? navImportService.importJson(input)
+                    : navImportService.importCsv(input);
+            return ResponseEntity.ok(ApiResponse.success("净值导入完成", report));
+        } catch (NavImportService.PartialImportException e) {
+            return partialFailure(e);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(ApiResponse.error(HttpStatus.CONFLICT.value(), e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.badRequest(e.getMessage()));
+        } catch (IOException e) {
+            log.error("读取净值文件失败: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(ApiResponse.badRequest("读取净值文件失败"));
+        }
+    }
+
+    /**
+     * 导入中途失败：文件内容错误返回400、写入失败返回500，均附带失败前已写入部分的统计
+     */
+    private static ResponseEntity<ApiResponse<NavImportReport>> partialFailure(
+            NavImportService.PartialImportException e) {
+        Throwable cause = e.getCause();
+        HttpStatus status = cause instanceof IllegalArgumentException || cause instanceof IOException
+                ? HttpStatus.BAD_REQUEST
+                : HttpStatus.INTERNAL_SERVER_ERROR;
+        if (status == HttpStatus.INTERNAL_SERVER_ERROR) {
+            log.error("净值导入写入失败: {}", e.getMessage(), cause);
+        }
+        ApiResponse<NavImportReport> body = ApiResponse.error(status.value(), e.getMessage());
+        body.setData(e.getReport());
+        return ResponseEntity.status(status).body(body);
+    }
+
+    private static String resolveFormat(MultipartFile file, String format) {
+        String candidate = format;
+        if (candidate == null || candidate.isBlank()) {
+            String filename = file.getOriginalFilename();
+            if (filename == null || !filename.contains(".")) {
+                return null;
+            }
+            candidate = filename.substring(filename.lastIndexOf('.') + 1);
+        }
+        candidate = candidate.trim().toLowerCase();
+        return "csv".equals(candidate) || "json".equals(candidate) ? candidate : null;
+    }
+}
@@ -0,0 +1,96 @@
+package com.jntm.controller;
+
+import com.jntm.dto.ApiResponse;
+import com.jntm.dto.CursorPage;
+import com.jntm.dto.PortfolioDistributionDTO;
+import com.jntm.dto.PortfolioSnapshot;
+import com.jntm.dto.PortfolioSummaryDTO;
+import com.jntm.dto.UserFundDTO;
+import com.jntm.service.PortfolioService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * 投资组合控制器
+ * 提供用户持仓相关的API接口
+ *
+ * @author JNTM Team
+ * @since 1.0.0
+ */
+@Slf4j
+@RestController
+@RequestMapping("/portfolio")
+@RequiredArgsConstructor
+@Tag(name = "投资组合", description = "用户持仓相关的API接口")
+public class PortfolioController {
+
+    private final PortfolioService portfolioService;
+
+    /**
+     * 获取持仓汇总
+     */
+    @GetMapping("/{userId}/summary")
+    @PreAuthorize("hasRole('ADMIN') or #userId == authentication.principal.id")
+    @Operation(summary = "获取持仓汇总", description = "获取用户的总市值、总成本、总盈亏、持仓数量及类型/公司分布")
+    public ResponseEntity<ApiResponse<PortfolioSummaryDTO>> getSummary(
+            @Parameter(description = "用户ID", required = true) @PathVariable Long userId) {
+
+        PortfolioSummaryDTO summary = portfolioService.getSummary(userId);
+        return ResponseEntity.ok(ApiResponse.success("获取持仓汇总成功", summary));
+    }
+
+    /**
+     * 获取持仓快照
+     */
+    @GetMapping("/{userId}/snapshot")
+    @PreAuthorize("hasRole('ADMIN') or #userId == authentication.principal.id")
+    @Operation(summary = "获取持仓快照", description = "获取用户的持仓汇总、全部持仓及市值/收益率排行")
+    public ResponseEntity<ApiResponse<PortfolioSnapshot>> getSnapshot(
+            @Parameter(description = "用户ID", required = true) @PathVariable Long userId) {
+
+        PortfolioSnapshot snapshot = portfolioService.getSnapshot(userId);
+        return ResponseEntity.ok(ApiResponse.success("获取持仓快照成功", snapshot));
+    }
+
+    /**
+     * 获取持仓分布
+     */
+    @GetMapping("/{userId}/distribution")
+    @PreAuthorize("hasRole('ADMIN') or #userId == authentication.principal.id")
+    @Operation(summary = "获取持仓分布", description = "获取用户按基金类型和基金公司的市值分布")
+    public ResponseEntity<ApiResponse<PortfolioDistributionDTO>> getDistribution(
+            @Parameter(description = "用户ID", required = true) @PathVariable Long userId) {
+
+        PortfolioDistributionDTO distribution = portfolioService.getDistribution(userId);
+        return ResponseEntity.ok(ApiResponse.success("获取持仓分布成功", distribution));
+    }
+
+    /**
+     * 游标分页查询持仓明细
+     */
+    @GetMapping("/{userId}/holdings")
+    @PreAuthorize("hasRole('ADMIN') or #userId == authentication.principal.id")
+    @Operation(summary = "查询持仓明细", description = "游标分页查询用户全部持仓记录（含已卖出）")
+    public ResponseEntity<ApiResponse<CursorPage<UserFundDTO>>> getHoldings(
+            @Parameter(description = "用户ID", required = true) @PathVariable Long userId,
+            @Parameter(description = "上一页返回的游标，为空时查询第一页") @RequestParam(required = false) String cursor,
+            @Parameter(description = "每页大小", example = "20") @RequestParam(defaultValue = "20") int size) {
+
+        if (size <= 0 || size > 100) {
+            return ResponseEntity.badRequest().body(ApiResponse.badRequest("分页参数无效"));
+        }
+
+        try {
+            CursorPage<UserFundDTO> holdings = portfolioService.getHoldings(userId, cursor, size);
+            return ResponseEntity.ok(ApiResponse.success("查询持仓明细成功", holdings));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.badRequest(e.getMessage()));
+        }
+    }
+}
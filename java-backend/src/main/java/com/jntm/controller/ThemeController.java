@@ -1,6 +1,8 @@
 package com.jntm.controller;
 
+import com.jntm.config.AIServiceGuards;
 import com.jntm.dto.ApiResponse;
+import com.jntm.dto.CachedResult;
 import com.jntm.dto.UserDTO;
 import com.jntm.entity.User;
 import com.jntm.service.AIIntegrationService;
@@ -10,9 +12,14 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.HashMap;
@@ -35,6 +42,7 @@ public class ThemeController {
 
     private final UserService userService;
     private final AIIntegrationService aiIntegrationService;
+    private final AIServiceGuards aiServiceGuards;
 
     /**
      * 获取用户的主题化投资组合分析
@@ -61,9 +69,14 @@ public class ThemeController {
                 portfolioData,
                 request.getAnalysisType(),
                 request.getCustomPreferences()
-        ).map(response -> ResponseEntity.ok(ApiResponse.success("主题化分析完成", response)))
-        .onErrorReturn(ResponseEntity.badRequest()
-                .body(ApiResponse.error("主题化分析失败")));
+        ).map(result -> {
+            ApiResponse<Map<String, Object>> body = ApiResponse.success("主题化分析完成", result.getValue());
+            body.setCacheStatus(result.getStatus().name());
+            return ResponseEntity.ok()
+                    .header(CachedResult.HEADER, result.headerValue())
+                    .body(body);
+        })
+        .onErrorResume(ex -> Mono.just(failure(ex, "主题化分析失败")));
     }
 
     /**
@@ -83,8 +96,46 @@ public class ThemeController {
                 request.getMessage(),
                 request.getTheme()
         ).map(response -> ResponseEntity.ok(ApiResponse.success("AI对话成功", response)))
-        .onErrorReturn(ResponseEntity.badRequest()
-                .body(ApiResponse.error("AI对话失败")));
+        .onErrorResume(ex -> Mono.just(failure(ex, "AI对话失败")));
+    }
+
+    /**
+     * 与主题AI助手流式对话（Server-Sent Events）
+     * 每段生成文本作为一个事件推送（{"delta": "..."}），结束时推送 done 事件，失败时推送带 status 的 error 事件；
+     * 同时进行的对话已达上限时返回429；
+     * 客户端断开后停止向上游拉取
+     */
+    @PostMapping(value = "/{userId}/chat/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('ADMIN') or #userId == authentication.principal.id")
+    @Operation(summary = "主题AI流式对话", description = "以SSE逐段返回AI回复，每个用户同时进行的对话数有上限")
+    public ResponseEntity<Flux<ServerSentEvent<Map<String, Object>>>> streamChatWithThemeAI(
+            @Parameter(description = "用户ID", required = true) @PathVariable Long userId,
+            @RequestBody ChatRequest request) {
+
+        log.info("收到主题AI流式对话请求: userId={}, theme={}", userId, request.getTheme());
+
+        if (request.getMessage() == null || request.getMessage().isBlank()) {
+            return ResponseEntity.badRequest().body(Flux.just(errorEvent(HttpStatus.BAD_REQUEST, "对话内容不能为空")));
+        }
+
+        if (aiIntegrationService.isChatStreamLimitReached(userId)) {
+            return tooManyChatStreams();
+        }
+
+        // 名额在订阅时占用；与其他请求竞争失败时响应头已发出，以 error 事件告知
+        Flux<ServerSentEvent<Map<String, Object>>> events = aiIntegrationService.streamChat(
+                        userId,
+                        request.getMessage(),
+                        request.getTheme()
+                )
+                .map(delta -> ServerSentEvent.<Map<String, Object>>builder(Map.of("delta", delta)).build())
+                .concatWithValues(ServerSentEvent.<Map<String, Object>>builder(Map.of()).event("done").build())
+                .onErrorResume(ex -> Mono.just(streamErrorEvent(ex)));
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CACHE_CONTROL, "no-cache")
+                .header("X-Accel-Buffering", "no")
+                .body(events);
     }
 
     /**
@@ -145,12 +196,54 @@ public class ThemeController {
                     healthInfo.put("ocr_service", tuple.getT2() ? "healthy" : "unhealthy");
                     healthInfo.put("analytics_service", tuple.getT3() ? "healthy" : "unhealthy");
                     healthInfo.put("overall_health", (tuple.getT1() && tuple.getT2() && tuple.getT3()) ? "healthy" : "partial");
+                    healthInfo.put("circuit_breakers", aiServiceGuards.states());
                     healthInfo.put("timestamp", System.currentTimeMillis());
 
                     return ResponseEntity.ok(ApiResponse.success("服务健康检查完成", healthInfo));
                 });
     }
 
+    /**
+     * AI调用失败时的响应
+     * 熔断或并发已满时快速返回503并带 Retry-After，其他失败保持原有的400响应
+     */
+    private static <T> ResponseEntity<ApiResponse<T>> failure(Throwable ex, String message) {
+        if (ex instanceof AIServiceGuards.UnavailableException unavailable) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(unavailable.getRetryAfter().toSeconds()))
+                    .body(ApiResponse.serviceUnavailable("AI服务繁忙，请稍后重试"));
+        }
+        return ResponseEntity.badRequest().body(ApiResponse.error(message));
+    }
+
+    /**
+     * 流式对话并发已达上限时的429响应
+     */
+    private static ResponseEntity<Flux<ServerSentEvent<Map<String, Object>>>> tooManyChatStreams() {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(Flux.just(errorEvent(HttpStatus.TOO_MANY_REQUESTS, "同时进行的对话过多，请稍后重试")));
+    }
+
+    /**
+     * 流式对话中途失败时的 error 事件，status 与非流式接口的响应码一致
+     */
+    private static ServerSentEvent<Map<String, Object>> streamErrorEvent(Throwable ex) {
+        if (ex instanceof AIIntegrationService.ChatStreamLimitException) {
+            return errorEvent(HttpStatus.TOO_MANY_REQUESTS, "同时进行的对话过多，请稍后重试");
+        }
+        if (ex instanceof AIServiceGuards.UnavailableException) {
+            return errorEvent(HttpStatus.SERVICE_UNAVAILABLE, "AI服务繁忙，请稍后重试");
+        }
+        return errorEvent(HttpStatus.BAD_GATEWAY, "AI对话失败");
+    }
+
+    private static ServerSentEvent<Map<String, Object>> errorEvent(HttpStatus status, String message) {
+        return ServerSentEvent.<Map<String, Object>>builder(Map.of("status", status.value(), "message", message))
+                .event("error")
+                .build();
+    }
+
     /**
      * 生成主题推荐
      */
@@ -1,6 +1,7 @@
 package com.jntm.controller;
 
 import com.jntm.dto.ApiResponse;
+import com.jntm.dto.CursorPage;
 import com.jntm.dto.UserDTO;
 import com.jntm.entity.User;
 import com.jntm.service.UserService;
@@ -167,6 +168,34 @@ public class UserController {
         return ResponseEntity.ok(ApiResponse.success("查询用户列表成功", userPage));
     }
 
+    /**
+     * 游标分页查询用户
+     */
+    @GetMapping("/cursor")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "游标分页查询用户", description = "按创建时间倒序游标分页查询用户列表，支持筛选，翻页耗时与页码无关")
+    public ResponseEntity<ApiResponse<CursorPage<UserDTO>>> findUsersByCursor(
+            @Parameter(description = "用户名筛选") @RequestParam(required = false) String username,
+            @Parameter(description = "邮箱筛选") @RequestParam(required = false) String email,
+            @Parameter(description = "主题筛选") @RequestParam(required = false) User.ThemeType theme,
+            @Parameter(description = "状态筛选") @RequestParam(required = false) User.UserStatus status,
+            @Parameter(description = "上一页返回的游标，为空时查询第一页") @RequestParam(required = false) String cursor,
+            @Parameter(description = "每页大小", example = "20") @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "是否返回总数") @RequestParam(defaultValue = "false") boolean withTotal) {
+
+        if (size <= 0 || size > 100) {
+            return ResponseEntity.badRequest().body(ApiResponse.badRequest("分页参数无效"));
+        }
+
+        try {
+            CursorPage<UserDTO> users = userService.findUsersByCursor(username, email, theme, status,
+                    cursor, size, withTotal);
+            return ResponseEntity.ok(ApiResponse.success("查询用户列表成功", users));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.badRequest(e.getMessage()));
+        }
+    }
+
     /**
      * 获取用户统计信息
      */
@@ -54,6 +54,11 @@ public class ApiResponse<T> {
      */
     private String traceId;
 
+    /**
+     * 结果缓存状态（HIT/MISS/BYPASS），仅结果可缓存的接口返回
+     */
+    private String cacheStatus;
+
     /**
      * 创建成功响应
      */
@@ -176,6 +181,18 @@ public class ApiResponse<T> {
                 .build();
     }
 
+    /**
+     * 创建服务暂不可用响应
+     */
+    public static <T> ApiResponse<T> serviceUnavailable(String message) {
+        return ApiResponse.<T>builder()
+                .code(503)
+                .message(message)
+                .success(false)
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+
     /**
      * 设置追踪ID
      */
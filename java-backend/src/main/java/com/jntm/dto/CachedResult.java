@@ -0,0 +1,69 @@
+package com.jntm.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 带缓存状态的结果
+ *
+ * @author JNTM Team
+ * @since 1.0.0
+ */
+@Getter
+@AllArgsConstructor
+public class CachedResult<T> {
+
+    /**
+     * 缓存状态响应头（RFC 9211）
+     */
+    public static final String HEADER = "Cache-Status";
+
+    /**
+     * 缓存名称（Cache-Status 中的缓存标识）
+     */
+    private static final String CACHE_ID = "jntm-ai";
+
+    /**
+     * 结果
+     */
+    private final T value;
+
+    /**
+     * 缓存状态
+     */
+    private final Status status;
+
+    public static <T> CachedResult<T> hit(T value) {
+        return new CachedResult<>(value, Status.HIT);
+    }
+
+    public static <T> CachedResult<T> miss(T value) {
+        return new CachedResult<>(value, Status.MISS);
+    }
+
+    public static <T> CachedResult<T> bypass(T value) {
+        return new CachedResult<>(value, Status.BYPASS);
+    }
+
+    /**
+     * Cache-Status 响应头的值
+     */
+    public String headerValue() {
+        return CACHE_ID + "; " + status.parameter;
+    }
+
+    /**
+     * 缓存状态
+     */
+    public enum Status {
+        HIT("hit"),
+        MISS("fwd=miss"),
+        BYPASS("fwd=bypass");
+
+        private final String parameter;
+
+        Status(String parameter) {
+            this.parameter = parameter;
+        }
+    }
+}
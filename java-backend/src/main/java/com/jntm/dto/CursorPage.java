@@ -0,0 +1,48 @@
+package com.jntm.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 游标分页结果
+ * 按排序键定位下一页（keyset分页），翻页成本与页码无关；
+ * 总数为可选项，仅在请求时返回（可能来自缓存）
+ *
+ * @author JNTM Team
+ * @since 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CursorPage<T> {
+
+    /**
+     * 当前页数据
+     */
+    private List<T> content;
+
+    /**
+     * 下一页游标，没有更多数据时为空
+     */
+    private String nextCursor;
+
+    /**
+     * 是否还有下一页
+     */
+    private boolean hasNext;
+
+    /**
+     * 每页大小
+     */
+    private int size;
+
+    /**
+     * 总记录数（未请求时为空）
+     */
+    private Long totalElements;
+}
@@ -0,0 +1,54 @@
+package com.jntm.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.jntm.entity.Fund;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * 基金排行榜条目
+ *
+ * @author JNTM Team
+ * @since 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class FundRankingDTO {
+
+    /**
+     * 名次（从1开始）
+     */
+    private Integer rank;
+
+    /**
+     * 基金代码
+     */
+    private String fundCode;
+
+    /**
+     * 基金名称
+     */
+    private String fundName;
+
+    /**
+     * 基金类型
+     */
+    private Fund.FundType fundType;
+
+    /**
+     * 风险等级
+     */
+    private Fund.RiskLevel riskLevel;
+
+    /**
+     * 排行指标值
+     */
+    private BigDecimal value;
+}
@@ -0,0 +1,104 @@
+package com.jntm.dto;
+
+import com.jntm.catalog.FundMetric;
+import com.jntm.entity.Fund;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 基金筛选请求
+ * 多个指标区间条件与分类条件之间均为"且"关系
+ *
+ * @author JNTM Team
+ * @since 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FundScreenRequest {
+
+    /**
+     * 指标区间条件
+     */
+    @Valid
+    private List<MetricRange> ranges = new ArrayList<>();
+
+    /**
+     * 基金类型（任一）
+     */
+    private Set<Fund.FundType> fundTypes;
+
+    /**
+     * 风险等级（任一）
+     */
+    private Set<Fund.RiskLevel> riskLevels;
+
+    /**
+     * 基金状态
+     */
+    private Fund.FundStatus status;
+
+    /**
+     * 排序指标，为空时按基金代码排序
+     */
+    private FundMetric sortBy;
+
+    /**
+     * 排序方向（asc/desc）
+     */
+    private String sortDir = "desc";
+
+    /**
+     * 页码
+     */
+    @Min(0)
+    private int page = 0;
+
+    /**
+     * 每页大小
+     */
+    @Min(1)
+    @Max(200)
+    private int size = 20;
+
+    /**
+     * 指标区间，上下界均包含，为空表示不限
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class MetricRange {
+
+        /**
+         * 指标
+         */
+        @NotNull
+        private FundMetric metric;
+
+        /**
+         * 下界
+         */
+        @DecimalMin("-1000000000")
+        @DecimalMax("1000000000")
+        private BigDecimal min;
+
+        /**
+         * 上界
+         */
+        @DecimalMin("-1000000000")
+        @DecimalMax("1000000000")
+        private BigDecimal max;
+    }
+}
@@ -0,0 +1,76 @@
+package com.jntm.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 净值导入报告
+ *
+ * @author JNTM Team
+ * @since 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NavImportReport {
+
+    /**
+     * 是否完整导入；为false时只有失败前的批次已写入
+     */
+    private boolean completed;
+
+    /**
+     * 中途失败的原因
+     */
+    private String failure;
+
+    /**
+     * 读取的记录数
+     */
+    private long totalRecords;
+
+    /**
+     * 校验通过并写入的记录数
+     */
+    private long acceptedRecords;
+
+    /**
+     * 校验未通过的记录数
+     */
+    private long rejectedRecords;
+
+    /**
+     * 同一批次中被同基金更新净值取代的记录数
+     */
+    private long duplicateRecords;
+
+    /**
+     * 已写入但净值日期早于已有日期或数值相同、未改变基金净值的记录数（包含在 acceptedRecords 中）
+     */
+    private long unchangedRecords;
+
+    /**
+     * 写入批次数
+     */
+    private int batches;
+
+    /**
+     * 耗时（毫秒）
+     */
+    private long durationMs;
+
+    /**
+     * 吞吐量（记录/秒）
+     */
+    private long recordsPerSecond;
+
+    /**
+     * 校验错误样例（最多保留前若干条）
+     */
+    private List<String> errors;
+}
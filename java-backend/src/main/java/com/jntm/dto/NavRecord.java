@@ -0,0 +1,53 @@
+package com.jntm.dto;
+
+import com.fasterxml.jackson.annotation.JsonAlias;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * 基金净值记录
+ * 净值导入数据源中的一行（CSV）或一个对象（JSON）
+ *
+ * @author JNTM Team
+ * @since 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NavRecord {
+
+    /**
+     * 基金代码
+     */
+    @JsonAlias("fund_code")
+    private String fundCode;
+
+    /**
+     * 单位净值
+     */
+    private BigDecimal nav;
+
+    /**
+     * 累计净值
+     */
+    @JsonAlias("cumulative_nav")
+    private BigDecimal cumulativeNav;
+
+    /**
+     * 净值日期
+     */
+    @JsonAlias("nav_date")
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate navDate;
+
+    /**
+     * 日增长率（%）
+     */
+    @JsonAlias("daily_growth_rate")
+    private BigDecimal dailyGrowthRate;
+}
@@ -0,0 +1,62 @@
+package com.jntm.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 分页游标编解码
+ * 游标为排序类型加上一页末条记录排序键的 Base64URL 编码，对调用方不透明；
+ * 排序类型不匹配或内容损坏时视为无效游标
+ *
+ * @author JNTM Team
+ * @since 1.0.0
+ */
+public final class PageCursor {
+
+    private static final char SEPARATOR = '\u001F';
+
+    private PageCursor() {
+    }
+
+    /**
+     * 编码游标
+     *
+     * @param type 排序类型，解码时校验
+     * @param keys 末条记录的排序键（不可包含分隔符）
+     */
+    public static String encode(String type, Object... keys) {
+        StringBuilder sb = new StringBuilder(type);
+        for (Object key : keys) {
+            sb.append(SEPARATOR).append(key);
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解码游标
+     *
+     * @param cursor   游标，为空时返回null（第一页）
+     * @param type     期望的排序类型
+     * @param keyCount 期望的排序键个数
+     * @throws IllegalArgumentException 游标无效
+     */
+    public static String[] decode(String cursor, String type, int keyCount) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("无效的分页游标");
+        }
+        String[] parts = raw.split(String.valueOf(SEPARATOR), -1);
+        if (parts.length != keyCount + 1 || !parts[0].equals(type)) {
+            throw new IllegalArgumentException("无效的分页游标");
+        }
+        String[] keys = new String[keyCount];
+        System.arraycopy(parts, 1, keys, 0, keyCount);
+        return keys;
+    }
+}
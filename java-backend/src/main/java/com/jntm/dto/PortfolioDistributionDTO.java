@@ -0,0 +1,43 @@
+package com.jntm.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * 持仓分布数据传输对象
+ * 按基金类型/基金公司的市值分布
+ *
+ * @author JNTM Team
+ * @since 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PortfolioDistributionDTO {
+
+    /**
+     * 用户ID
+     */
+    private Long userId;
+
+    /**
+     * 总市值（元）
+     */
+    private BigDecimal totalValue;
+
+    /**
+     * 按基金类型的市值分布（按市值降序）
+     */
+    private List<PortfolioSummaryDTO.Allocation> byType;
+
+    /**
+     * 按基金公司的市值分布（按市值降序）
+     */
+    private List<PortfolioSummaryDTO.Allocation> byCompany;
+}
@@ -0,0 +1,61 @@
+package com.jntm.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 用户持仓快照
+ * 一次读取用户全部持仓后在内存中生成的汇总、分布和排行，整体缓存在二级缓存中，
+ * 持仓写入或净值重估时按用户失效
+ *
+ * @author JNTM Team
+ * @since 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PortfolioSnapshot {
+
+    /**
+     * 用户ID
+     */
+    private Long userId;
+
+    /**
+     * 持仓汇总及分布
+     */
+    private PortfolioSummaryDTO summary;
+
+    /**
+     * 全部持有中的持仓（按市值降序）
+     */
+    private List<UserFundDTO> holdings;
+
+    /**
+     * 市值最高的持仓
+     */
+    private List<UserFundDTO> topHoldings;
+
+    /**
+     * 收益率最高的持仓
+     */
+    private List<UserFundDTO> bestPerforming;
+
+    /**
+     * 收益率最低的持仓
+     */
+    private List<UserFundDTO> worstPerforming;
+
+    /**
+     * 快照生成时间
+     */
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime builtAt;
+}
@@ -0,0 +1,89 @@
+package com.jntm.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * 持仓汇总数据传输对象
+ * 总市值、总成本、总盈亏、持仓数量及按基金类型/基金公司的市值分布
+ *
+ * @author JNTM Team
+ * @since 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PortfolioSummaryDTO {
+
+    /**
+     * 用户ID
+     */
+    private Long userId;
+
+    /**
+     * 总市值（元）
+     */
+    private BigDecimal totalValue;
+
+    /**
+     * 总成本（元）
+     */
+    private BigDecimal totalCost;
+
+    /**
+     * 总盈亏（元）
+     */
+    private BigDecimal totalProfitLoss;
+
+    /**
+     * 总收益率（%）
+     */
+    private BigDecimal totalReturnRate;
+
+    /**
+     * 持仓数量
+     */
+    private Long holdingCount;
+
+    /**
+     * 按基金类型的市值分布（按市值降序）
+     */
+    private List<Allocation> distributionByType;
+
+    /**
+     * 按基金公司的市值分布（按市值降序）
+     */
+    private List<Allocation> distributionByCompany;
+
+    /**
+     * 分布项
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Allocation {
+
+        /**
+         * 分组名称（基金类型或基金公司）
+         */
+        private String name;
+
+        /**
+         * 市值（元）
+         */
+        private BigDecimal value;
+
+        /**
+         * 占总市值比例（%）
+         */
+        private BigDecimal ratio;
+    }
+}
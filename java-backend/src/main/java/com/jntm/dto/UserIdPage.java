@@ -0,0 +1,31 @@
+package com.jntm.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 用户分页查询结果（仅ID）
+ * 列表缓存只保存命中的用户ID和总数，用户详情统一从用户缓存读取，
+ * 资料更新时只需失效对应用户，不必清空所有列表
+ *
+ * @author JNTM Team
+ * @since 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserIdPage {
+
+    /**
+     * 当前页用户ID（保持查询排序）
+     */
+    private List<Long> ids;
+
+    /**
+     * 总记录数
+     */
+    private long totalElements;
+}
@@ -20,7 +20,11 @@ import java.time.LocalDateTime;
  * @since 1.0.0
  */
 @Entity
-@Table(name = "users")
+@Table(name = "users",
+       indexes = {
+           @Index(name = "idx_created_at", columnList = "created_at"),
+           @Index(name = "idx_status_theme_risk", columnList = "status, current_theme, risk_tolerance")
+       })
 @Data
 @Builder
 @NoArgsConstructor
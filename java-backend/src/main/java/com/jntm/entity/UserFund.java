@@ -1,5 +1,6 @@
 package com.jntm.entity;
 
+import com.jntm.cache.UserFundCacheListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -24,15 +25,16 @@ import java.time.LocalDateTime;
 @Table(name = "user_funds",
        uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "fund_code"}),
        indexes = {
-           @Index(name = "idx_user_id", columnList = "user_id"),
            @Index(name = "idx_fund_code", columnList = "fund_code"),
-           @Index(name = "idx_purchase_date", columnList = "purchase_date")
+           @Index(name = "idx_user_status_value", columnList = "user_id, status, current_value"),
+           @Index(name = "idx_user_status_return", columnList = "user_id, status, return_rate"),
+           @Index(name = "idx_user_purchase_date", columnList = "user_id, purchase_date")
        })
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, UserFundCacheListener.class})
 public class UserFund {
 
     /**
@@ -0,0 +1,29 @@
+package com.jntm.event;
+
+import org.springframework.context.ApplicationEvent;
+
+import java.util.Set;
+
+/**
+ * 基金净值更新事件
+ * 净值批量写入数据库并刷新基金目录后发布
+ *
+ * @author JNTM Team
+ * @since 1.0.0
+ */
+public class NavUpdatedEvent extends ApplicationEvent {
+
+    private final Set<String> fundCodes;
+
+    public NavUpdatedEvent(Object source, Set<String> fundCodes) {
+        super(source);
+        this.fundCodes = fundCodes;
+    }
+
+    /**
+     * 净值发生更新的基金代码
+     */
+    public Set<String> getFundCodes() {
+        return fundCodes;
+    }
+}
@@ -0,0 +1,29 @@
+package com.jntm.event;
+
+import org.springframework.context.ApplicationEvent;
+
+import java.util.Set;
+
+/**
+ * 持仓重估完成事件
+ * 持仓市值、盈亏、收益率写回数据库后发布
+ *
+ * @author JNTM Team
+ * @since 1.0.0
+ */
+public class PortfolioRevaluedEvent extends ApplicationEvent {
+
+    private final Set<Long> userIds;
+
+    public PortfolioRevaluedEvent(Object source, Set<Long> userIds) {
+        super(source);
+        this.userIds = userIds;
+    }
+
+    /**
+     * 持仓发生变化的用户ID
+     */
+    public Set<Long> getUserIds() {
+        return userIds;
+    }
+}
@@ -30,7 +30,10 @@ public interface FundRepository extends JpaRepository<Fund, Long> {
 
     /**
      * 根据基金名称查找基金（模糊查询）
+     *
+     * @deprecated LIKE %x% 无法使用索引，请使用 {@link com.jntm.service.FundService#searchFunds}
      */
+    @Deprecated
     List<Fund> findByFundNameContaining(String fundName);
 
     /**
@@ -107,6 +110,7 @@ public interface FundRepository extends JpaRepository<Fund, Long> {
 
     /**
      * 分页查询基金，支持按多个条件筛选
+     * 列表接口请使用内存目录游标分页 {@link com.jntm.service.FundService#findFundsByCursor}
      */
     @Query("SELECT f FROM Fund f WHERE " +
            "(:fundCode IS NULL OR f.fundCode LIKE %:fundCode%) AND " +
@@ -127,12 +131,14 @@ public interface FundRepository extends JpaRepository<Fund, Long> {
 
     /**
      * 按一年收益率排序获取Top N基金
+     * 首页排行请使用内存排行榜 {@link com.jntm.service.FundService#getLeaderboard}
      */
     @Query("SELECT f FROM Fund f WHERE f.status = 'ACTIVE' AND f.oneYearReturn IS NOT NULL ORDER BY f.oneYearReturn DESC")
     List<Fund> findTopPerformingFunds(Pageable pageable);
 
     /**
      * 按夏普比率排序获取Top N基金
+     * 首页排行请使用内存排行榜 {@link com.jntm.service.FundService#getLeaderboard}
      */
     @Query("SELECT f FROM Fund f WHERE f.status = 'ACTIVE' AND f.sharpeRatio IS NOT NULL ORDER BY f.sharpeRatio DESC")
     List<Fund> findTopSharpeRatioFunds(Pageable pageable);
@@ -1,10 +1,13 @@
 package com.jntm.repository;
 
 import com.jntm.entity.UserFund;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -12,6 +15,7 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * 用户基金持仓数据访问层
@@ -61,24 +65,28 @@ public interface UserFundRepository extends JpaRepository<UserFund, Long> {
 
     /**
      * 计算用户总持仓金额
+     * 需要多项汇总时请使用 {@link #summarizeHoldingsByFundCode}，避免多次扫描
      */
     @Query("SELECT COALESCE(SUM(uf.currentValue), 0) FROM UserFund uf WHERE uf.userId = :userId AND uf.status = 'HOLDING'")
     BigDecimal calculateTotalPortfolioValue(@Param("userId") Long userId);
 
     /**
      * 计算用户总成本金额
+     * 需要多项汇总时请使用 {@link #summarizeHoldingsByFundCode}，避免多次扫描
      */
     @Query("SELECT COALESCE(SUM(uf.costAmount), 0) FROM UserFund uf WHERE uf.userId = :userId AND uf.status = 'HOLDING'")
     BigDecimal calculateTotalCostAmount(@Param("userId") Long userId);
 
     /**
      * 计算用户总盈亏金额
+     * 需要多项汇总时请使用 {@link #summarizeHoldingsByFundCode}，避免多次扫描
      */
     @Query("SELECT COALESCE(SUM(uf.currentProfitLoss), 0) FROM UserFund uf WHERE uf.userId = :userId AND uf.status = 'HOLDING'")
     BigDecimal calculateTotalProfitLoss(@Param("userId") Long userId);
 
     /**
      * 计算用户持仓数量
+     * 需要多项汇总时请使用 {@link #summarizeHoldingsByFundCode}，避免多次扫描
      */
     @Query("SELECT COUNT(uf) FROM UserFund uf WHERE uf.userId = :userId AND uf.status = 'HOLDING'")
     Long countHoldingFundsByUserId(@Param("userId") Long userId);
@@ -110,6 +118,33 @@ public interface UserFundRepository extends JpaRepository<UserFund, Long> {
      */
     Page<UserFund> findByUserId(Long userId, Pageable pageable);
 
+    /**
+     * 按ID顺序流式读取全部持仓（导出用）
+     * 抓取大小 Integer.MIN_VALUE 使 MySQL 驱动逐行读取结果集；调用方须在只读事务内消费并关闭流
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT uf FROM UserFund uf ORDER BY uf.id")
+    Stream<UserFund> streamAllOrderById();
+
+    /**
+     * 按ID顺序流式读取用户持仓（导出用）
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT uf FROM UserFund uf WHERE uf.userId = :userId ORDER BY uf.id")
+    Stream<UserFund> streamByUserIdOrderById(@Param("userId") Long userId);
+
+    /**
+     * 游标分页查询用户持仓（按ID升序），从 afterId 之后开始读取，不统计总数
+     * 按 idx_user_id（InnoDB 中即 (user_id, id)）顺序读取，无需文件排序
+     */
+    List<UserFund> findByUserIdAndIdGreaterThanOrderByIdAsc(Long userId, Long afterId, Pageable pageable);
+
     /**
      * 获取用户持仓中市值最高的N只基金
      */
@@ -128,18 +163,50 @@ public interface UserFundRepository extends JpaRepository<UserFund, Long> {
     @Query("SELECT uf FROM UserFund uf WHERE uf.userId = :userId AND uf.status = 'HOLDING' AND uf.returnRate IS NOT NULL ORDER BY uf.returnRate ASC")
     List<UserFund> findWorstPerformingHoldingsByUserId(@Param("userId") Long userId, Pageable pageable);
 
+    /**
+     * 按基金代码分组汇总用户持有中的持仓（一次查询得到持仓汇总和分布所需的全部聚合）
+     * 仅扫描用户自己的持仓行，基金类型/公司由调用方从基金目录解析
+     */
+    @Query("SELECT uf.fundCode AS fundCode, COALESCE(SUM(uf.currentValue), 0) AS totalValue, " +
+           "COALESCE(SUM(uf.costAmount), 0) AS totalCost, COALESCE(SUM(uf.currentProfitLoss), 0) AS totalProfitLoss, " +
+           "COUNT(uf) AS holdingCount FROM UserFund uf " +
+           "WHERE uf.userId = :userId AND uf.status = 'HOLDING' GROUP BY uf.fundCode")
+    List<HoldingGroupView> summarizeHoldingsByFundCode(@Param("userId") Long userId);
+
     /**
      * 统计用户各基金类型的持仓分布
+     *
+     * @deprecated 关联基金表随基金数量增长变慢，请使用 {@link #summarizeHoldingsByFundCode} 并从基金目录解析类型
      */
+    @Deprecated
     @Query("SELECT f.fundType, SUM(uf.currentValue) FROM UserFund uf JOIN Fund f ON uf.fundCode = f.fundCode " +
            "WHERE uf.userId = :userId AND uf.status = 'HOLDING' GROUP BY f.fundType")
     List<Object[]> calculatePortfolioDistributionByType(@Param("userId") Long userId);
 
     /**
      * 统计用户各基金公司的持仓分布
+     *
+     * @deprecated 关联基金表随基金数量增长变慢，请使用 {@link #summarizeHoldingsByFundCode} 并从基金目录解析公司
      */
+    @Deprecated
     @Query("SELECT f.fundCompany, SUM(uf.currentValue) FROM UserFund uf JOIN Fund f ON uf.fundCode = f.fundCode " +
            "WHERE uf.userId = :userId AND uf.status = 'HOLDING' GROUP BY f.fundCompany ORDER BY SUM(uf.currentValue) DESC")
     List<Object[]> calculatePortfolioDistributionByCompany(@Param("userId") Long userId);
 
+    /**
+     * 持仓分组汇总投影
+     */
+    interface HoldingGroupView {
+
+        String getFundCode();
+
+        BigDecimal getTotalValue();
+
+        BigDecimal getTotalCost();
+
+        BigDecimal getTotalProfitLoss();
+
+        Long getHoldingCount();
+    }
+
 }
\ No newline at end of file
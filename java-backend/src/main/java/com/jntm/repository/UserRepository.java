@@ -1,16 +1,20 @@
 package com.jntm.repository;
 
 import com.jntm.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * 用户数据访问层
@@ -97,6 +101,14 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT u.riskTolerance, COUNT(u) FROM User u WHERE u.status = 'ACTIVE' GROUP BY u.riskTolerance")
     List<Object[]> countUsersByRiskTolerance();
 
+    /**
+     * 按状态、主题、风险偏好分组统计用户数量
+     * 一次查询得到全部用户统计计数，由 idx_status_theme_risk 覆盖
+     */
+    @Query("SELECT u.status AS status, u.currentTheme AS theme, u.riskTolerance AS riskTolerance, COUNT(u) AS total " +
+           "FROM User u GROUP BY u.status, u.currentTheme, u.riskTolerance")
+    List<UserCountView> countUsersGrouped();
+
     /**
      * 分页查询用户，支持按多个条件筛选
      */
@@ -113,10 +125,71 @@ public interface UserRepository extends JpaRepository<User, Long> {
             Pageable pageable
     );
 
+    /**
+     * 游标分页查询用户（按创建时间、ID倒序），支持按多个条件筛选
+     * 从 (afterCreatedAt, afterId) 之后开始读取，afterId 为空时返回第一页；不统计总数
+     */
+    @Query("SELECT u FROM User u WHERE " +
+           "(:username IS NULL OR u.username LIKE %:username%) AND " +
+           "(:email IS NULL OR u.email LIKE %:email%) AND " +
+           "(:theme IS NULL OR u.currentTheme = :theme) AND " +
+           "(:status IS NULL OR u.status = :status) AND " +
+           "(:afterId IS NULL OR u.createdAt < :afterCreatedAt OR " +
+           "(u.createdAt = :afterCreatedAt AND u.id < :afterId)) " +
+           "ORDER BY u.createdAt DESC, u.id DESC")
+    List<User> findUsersWithFiltersAfter(
+            @Param("username") String username,
+            @Param("email") String email,
+            @Param("theme") User.ThemeType theme,
+            @Param("status") User.UserStatus status,
+            @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+            @Param("afterId") Long afterId,
+            Pageable pageable
+    );
+
+    /**
+     * 统计符合筛选条件的用户数量
+     */
+    @Query("SELECT COUNT(u) FROM User u WHERE " +
+           "(:username IS NULL OR u.username LIKE %:username%) AND " +
+           "(:email IS NULL OR u.email LIKE %:email%) AND " +
+           "(:theme IS NULL OR u.currentTheme = :theme) AND " +
+           "(:status IS NULL OR u.status = :status)")
+    long countUsersWithFilters(
+            @Param("username") String username,
+            @Param("email") String email,
+            @Param("theme") User.ThemeType theme,
+            @Param("status") User.UserStatus status
+    );
+
+    /**
+     * 按ID顺序流式读取全部用户（导出用）
+     * 抓取大小 Integer.MIN_VALUE 使 MySQL 驱动逐行读取结果集；调用方须在只读事务内消费并关闭流
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT u FROM User u ORDER BY u.id")
+    Stream<User> streamAllOrderById();
+
     /**
      * 查找需要邮件通知的用户
      */
     @Query("SELECT u FROM User u WHERE u.emailNotificationEnabled = true AND u.status = 'ACTIVE'")
     List<User> findUsersWithEmailNotificationEnabled();
 
-}
\ No newline at end of file
+    /**
+     * 用户分组计数投影
+     */
+    interface UserCountView {
+
+        User.UserStatus getStatus();
+
+        User.ThemeType getTheme();
+
+        User.RiskTolerance getRiskTolerance();
+
+        long getTotal();
+    }
+}
@@ -1,13 +1,15 @@
 package com.jntm.security;
 
+import com.jntm.entity.User;
 import com.jntm.service.CustomUserDetailsService;
-import com.jntm.utils.JwtTokenUtil;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -30,8 +32,15 @@ import java.io.IOException;
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private final JwtTokenUtil jwtTokenUtil;
+    private final VerifiedTokenCache verifiedTokenCache;
     private final CustomUserDetailsService customUserDetailsService;
+    private final UserRevocationService userRevocationService;
+
+    /**
+     * 是否根据签名声明直接构建认证主体（不查询数据库）
+     */
+    @Value("${jntm.security.stateless-principal:true}")
+    private boolean statelessPrincipal;
 
     /**
      * 过滤器核心方法
@@ -52,13 +61,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             // 从请求头中获取JWT Token
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && jwtTokenUtil.validateAccessToken(jwt)) {
-                // 从Token中提取用户ID
-                Long userId = jwtTokenUtil.getUserIdFromToken(jwt);
+            // 一次签名校验同时得到Token类型和用户ID（重复Token直接命中缓存）
+            JwtClaims claims = StringUtils.hasText(jwt) ? verifiedTokenCache.verifyAccessToken(jwt) : null;
 
-                // 加载用户详情
-                UserDetails userDetails = customUserDetailsService.loadUserById(userId);
+            // 加载用户详情
+            UserDetails userDetails = claims != null ? loadPrincipal(claims) : null;
 
+            if (userDetails != null) {
                 // 创建认证对象
                 UsernamePasswordAuthenticationToken authentication =
                     new UsernamePasswordAuthenticationToken(
@@ -85,6 +94,34 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * 根据Token声明构建认证主体
+     * 无状态模式下直接使用签名中的角色和状态，并做短TTL的吊销检查；
+     * 旧Token缺少角色声明或吊销检查不可用时，回退到数据库加载
+     *
+     * @param claims Token声明
+     * @return 用户详情，用户已禁用或Token已吊销时返回null
+     */
+    private UserDetails loadPrincipal(JwtClaims claims) {
+        if (statelessPrincipal && claims.hasPrincipalClaims()) {
+            if (!User.UserStatus.ACTIVE.name().equals(claims.getStatus())) {
+                log.warn("用户状态不可用: userId={}, status={}", claims.getUserId(), claims.getStatus());
+                return null;
+            }
+            try {
+                if (userRevocationService.isRevoked(claims.getUserId(), claims.getIssuedAt())) {
+                    log.warn("Token已被吊销: userId={}", claims.getUserId());
+                    return null;
+                }
+                return JwtUserPrincipal.fromClaims(claims);
+            } catch (DataAccessException ex) {
+                log.warn("吊销状态检查失败，回退到数据库加载用户: {}", ex.getMessage());
+            }
+        }
+
+        return customUserDetailsService.loadUserById(claims.getUserId());
+    }
+
     /**
      * 从请求中提取JWT Token
      *
@@ -0,0 +1,94 @@
+package com.jntm.security;
+
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * JWT声明只读视图
+ * 一次签名校验后得到的类型化、不可变的Token信息
+ *
+ * @author JNTM Team
+ * @since 1.0.0
+ */
+@Value
+public class JwtClaims {
+
+    /**
+     * 访问Token类型
+     */
+    public static final String TYPE_ACCESS = "access";
+
+    /**
+     * 刷新Token类型
+     */
+    public static final String TYPE_REFRESH = "refresh";
+
+    /**
+     * 毫秒精度签发时间声明（标准 iat 只精确到秒）
+     */
+    public static final String ISSUED_AT_MILLIS = "iat_ms";
+
+    /**
+     * 用户ID
+     */
+    Long userId;
+
+    /**
+     * 用户名
+     */
+    String username;
+
+    /**
+     * Token类型（access/refresh）
+     */
+    String type;
+
+    /**
+     * 用户角色（访问Token携带）
+     */
+    String role;
+
+    /**
+     * 账户状态（访问Token携带）
+     */
+    String status;
+
+    /**
+     * 签发时间（毫秒精度；不带 iat_ms 声明的旧Token为整秒）
+     */
+    Instant issuedAt;
+
+    /**
+     * 过期时间
+     */
+    Instant expiration;
+
+    /**
+     * 是否为访问Token
+     */
+    public boolean isAccessToken() {
+        return TYPE_ACCESS.equals(type);
+    }
+
+    /**
+     * 是否为刷新Token
+     */
+    public boolean isRefreshToken() {
+        return TYPE_REFRESH.equals(type);
+    }
+
+    /**
+     * 是否携带构建认证主体所需的角色和状态声明
+     */
+    public boolean hasPrincipalClaims() {
+        return role != null && status != null;
+    }
+
+    /**
+     * 是否已过期
+     */
+    public boolean isExpired() {
+        return expiration == null || !expiration.isAfter(Instant.now());
+    }
+}
@@ -0,0 +1,79 @@
+package com.jntm.security;
+
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * 基于JWT声明构建的认证主体
+ * 无状态模式下由签名声明直接构建，不查询数据库
+ *
+ * @author JNTM Team
+ * @since 1.0.0
+ */
+@Getter
+public class JwtUserPrincipal implements UserDetails {
+
+    /**
+     * 用户ID（供 authentication.principal.id 表达式使用）
+     */
+    private final Long id;
+
+    /**
+     * 用户名
+     */
+    private final String username;
+
+    /**
+     * 用户角色
+     */
+    private final String role;
+
+    /**
+     * 权限列表
+     */
+    private final Collection<? extends GrantedAuthority> authorities;
+
+    public JwtUserPrincipal(Long id, String username, String role) {
+        this.id = id;
+        this.username = username;
+        this.role = role;
+        this.authorities = Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role));
+    }
+
+    /**
+     * 根据JWT声明创建认证主体
+     */
+    public static JwtUserPrincipal fromClaims(JwtClaims claims) {
+        return new JwtUserPrincipal(claims.getUserId(), claims.getUsername(), claims.getRole());
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+}
@@ -0,0 +1,129 @@
+package com.jntm.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import com.jntm.utils.JwtTokenUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * 已验证Token缓存
+ * 以Token的SHA-256摘要为键缓存签名校验结果，条目在Token过期时刻自动淘汰，
+ * 同一Token的重复请求无需再做HS512签名运算
+ *
+ * 命中、未命中和淘汰次数通过actuator的cache.*指标暴露（cache=jwt.verified）
+ *
+ * @author JNTM Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class VerifiedTokenCache {
+
+    private static final String CACHE_NAME = "jwt.verified";
+
+    private final JwtTokenUtil jwtTokenUtil;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 是否启用缓存
+     */
+    @Value("${jntm.jwt.verified-cache.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * 最大缓存条目数
+     */
+    @Value("${jntm.jwt.verified-cache.max-size:10000}")
+    private long maxSize;
+
+    private Cache<String, JwtClaims> cache;
+
+    /**
+     * 初始化缓存并注册监控指标
+     */
+    @PostConstruct
+    public void init() {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new TokenExpiry())
+                .scheduler(Scheduler.systemScheduler())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        log.info("已验证Token缓存初始化完成: enabled={}, maxSize={}", enabled, maxSize);
+    }
+
+    /**
+     * 校验访问Token，优先使用缓存的校验结果
+     *
+     * @param token 访问Token
+     * @return 声明视图，Token无效时返回null
+     */
+    public JwtClaims verifyAccessToken(String token) {
+        if (!enabled) {
+            return jwtTokenUtil.verifyAccessToken(token);
+        }
+
+        String digest = DigestUtils.sha256Hex(token);
+        JwtClaims claims = cache.getIfPresent(digest);
+        if (claims != null) {
+            return claims;
+        }
+
+        claims = jwtTokenUtil.verifyAccessToken(token);
+        if (claims != null && !claims.isExpired()) {
+            cache.put(digest, claims);
+        }
+        return claims;
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * 按Token过期时间计算条目存活时长
+     */
+    private static class TokenExpiry implements Expiry<String, JwtClaims> {
+
+        @Override
+        public long expireAfterCreate(String key, JwtClaims claims, long currentTime) {
+            return remainingNanos(claims);
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, JwtClaims claims, long currentTime, long currentDuration) {
+            return remainingNanos(claims);
+        }
+
+        @Override
+        public long expireAfterRead(String key, JwtClaims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        private static long remainingNanos(JwtClaims claims) {
+            if (claims.getExpiration() == null) {
+                return 0L;
+            }
+            long nanos = Duration.between(Instant.now(), claims.getExpiration()).toNanos();
+            return Math.max(nanos, 0L);
+        }
+    }
+}
@@ -1,43 +1,110 @@
 package com.jntm.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.RequiredArgsConstructor;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.jntm.cache.CacheNames;
+import com.jntm.catalog.FundCatalog;
+import com.jntm.config.AIServiceClients;
+import com.jntm.config.AIServiceGuards;
+import com.jntm.config.AIServiceGuards.Endpoint;
+import com.jntm.dto.CachedResult;
+import com.jntm.dto.FundDTO;
+import com.jntm.utils.PerKeyLimiter;
+import com.jntm.utils.SingleFlight;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.springframework.cache.Cache;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Service;
-import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 import reactor.util.retry.Retry;
 
 import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 
 /**
  * AI集成服务
- * 负责与Python AI服务进行HTTP通信
+ * 负责与Python AI服务进行HTTP通信，各下游服务使用 {@link AIServiceClients} 中预先构建的客户端
+ *
+ * 投资组合分析、数据分析和风险评估的结果只取决于请求内容和行情数据，
+ * 按请求摘要加所涉基金的最新净值日期缓存；未命中时相同请求合并为一次上游调用
+ *
+ * 每次上游调用经过 {@link AIServiceGuards} 的接口级隔离舱和熔断器，
+ * 熔断或并发已满时不重试，直接抛出 {@link AIServiceGuards.UnavailableException}
+ *
+ * 流式对话逐段转发上游SSE事件，按用户限制同时进行的流数；名额随订阅占用，流结束、失败或客户端断开时释放
  *
  * @author JNTM Team
  * @since 1.0.0
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class AIIntegrationService {
 
-    private final WebClient.Builder webClientBuilder;
+    private final AIServiceClients clients;
+    private final AIServiceGuards guards;
     private final ObjectMapper objectMapper;
+    private final FundService fundService;
+    private final CacheManager cacheManager;
+
+    /**
+     * 规范化序列化：Map按键排序，内容相同的请求得到相同的字节序列
+     */
+    private final ObjectWriter canonicalWriter;
+
+    /**
+     * 进行中的可缓存调用，相同请求共享同一次上游调用
+     */
+    private final SingleFlight<String, Map<String, Object>> resultFlights = new SingleFlight<>();
+
+    /**
+     * 上游流式对话事件类型
+     */
+    private static final ParameterizedTypeReference<ServerSentEvent<Map<String, Object>>> CHAT_EVENT_TYPE =
+            new ParameterizedTypeReference<>() {
+            };
 
-    @Value("${jntm.ai-service.base-url:http://localhost:5081}")
-    private String aiServiceBaseUrl;
+    /**
+     * 每个用户同时进行的流式对话数
+     */
+    private final PerKeyLimiter<Long> chatStreamLimiter;
 
-    @Value("${jntm.ai-service.timeout:30000}")
-    private int aiServiceTimeout;
+    /**
+     * 基金目录中最新的净值日期（按目录版本缓存）
+     */
+    private volatile CatalogNavDate catalogNavDate;
+
+    public AIIntegrationService(AIServiceClients clients, AIServiceGuards guards, ObjectMapper objectMapper,
+                                FundService fundService, CacheManager cacheManager,
+                                @Value("${jntm.ai-service.chat-stream.max-per-user:2}") int maxChatStreamsPerUser) {
+        this.clients = clients;
+        this.guards = guards;
+        this.objectMapper = objectMapper;
+        this.fundService = fundService;
+        this.cacheManager = cacheManager;
+        this.canonicalWriter = objectMapper.writer().with(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+        this.chatStreamLimiter = new PerKeyLimiter<>(maxChatStreamsPerUser);
+    }
 
     /**
-     * 调用Python AI服务进行投资组合分析
+     * 调用Python AI服务进行投资组合分析（结果缓存）
      */
-    public Mono<Map<String, Object>> analyzePortfolio(
+    public Mono<CachedResult<Map<String, Object>>> analyzePortfolio(
             Long userId,
             String theme,
             Map<String, Object> portfolioData,
@@ -55,14 +122,34 @@ public class AIIntegrationService {
                 "custom_preferences", customPreferences != null ? customPreferences : Map.of()
         );
 
-        return getWebClient()
-                .post()
-                .uri("/api/v1/ai/analyze")
-                .bodyValue(requestBody)
-                .retrieve()
-                .bodyToMono(Map.class)
+        return cachedCall("analyze", requestBody, () -> requestAnalysis(userId, requestBody));
+    }
+
+    /**
+     * 请求的规范化摘要（SHA-256），序列化失败时返回null
+     */
+    public String requestDigest(Map<String, Object> requestBody) {
+        try {
+            return DigestUtils.sha256Hex(canonicalWriter.writeValueAsBytes(requestBody));
+        } catch (JsonProcessingException ex) {
+            log.warn("请求摘要计算失败，不缓存不合并: {}", ex.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 发起投资组合分析上游调用（含重试）
+     */
+    private Mono<Map<String, Object>> requestAnalysis(Long userId, Map<String, Object> requestBody) {
+        return guards.protect(Endpoint.ANALYZE, clients.ai()
+                        .post()
+                        .uri("/api/v1/ai/analyze")
+                        .bodyValue(requestBody)
+                        .retrieve()
+                        .bodyToMono(Map.class))
                 .retryWhen(Retry.backoff(3, Duration.ofSeconds(2))
                         .maxBackoff(Duration.ofSeconds(10))
+                        .filter(AIServiceGuards::isRetryable)
                         .doBeforeRetry(retrySignal -> log.warn("AI服务调用失败，正在重试: {}", retrySignal.failure().getMessage()))
                         .onRetryExhaustedThrow((retryBackoffSpec, retrySignal) -> {
                             log.error("AI服务调用重试次数已用尽: {}", retrySignal.failure().getMessage());
@@ -74,7 +161,7 @@ public class AIIntegrationService {
                     log.error("AI服务HTTP错误: status={}, body={}", ex.getStatusCode(), ex.getResponseBodyAsString());
                     return new RuntimeException("AI服务调用失败: " + ex.getMessage());
                 })
-                .onErrorMap(Exception.class, ex -> {
+                .onErrorMap(AIServiceGuards::isRetryable, ex -> {
                     log.error("AI服务调用异常: {}", ex.getMessage());
                     return new RuntimeException("AI服务调用失败: " + ex.getMessage());
                 });
@@ -96,18 +183,73 @@ public class AIIntegrationService {
                 "theme", theme != null ? theme : "general"
         );
 
-        return getWebClient()
-                .post()
-                .uri("/api/v1/ai/chat")
-                .bodyValue(requestBody)
-                .retrieve()
-                .bodyToMono(Map.class)
-                .timeout(Duration.ofMillis(aiServiceTimeout))
+        return guards.protect(Endpoint.CHAT, clients.ai()
+                        .post()
+                        .uri("/api/v1/ai/chat")
+                        .bodyValue(requestBody)
+                        .retrieve()
+                        .bodyToMono(Map.class)
+                        .timeout(clients.timeout(AIServiceClients.Downstream.AI)))
                 .retryWhen(Retry.backoff(2, Duration.ofSeconds(1))
-                        .maxBackoff(Duration.ofSeconds(5)))
+                        .maxBackoff(Duration.ofSeconds(5))
+                        .filter(AIServiceGuards::isRetryable))
                 .doOnSuccess(response -> log.debug("AI对话成功: userId={}", userId))
                 .doOnError(error -> log.error("AI对话失败: userId={}, error={}", userId, error.getMessage()))
-                .onErrorMap(Exception.class, ex -> new RuntimeException("AI对话失败: " + ex.getMessage()));
+                .onErrorMap(AIServiceGuards::isRetryable, ex -> new RuntimeException("AI对话失败: " + ex.getMessage()));
+    }
+
+    /**
+     * 调用Python AI服务进行流式对话
+     * 返回的 Flux 在订阅时占用该用户的流式对话名额，名额已满时以 {@link ChatStreamLimitException} 结束；
+     * 按订阅方需求逐段拉取上游，在完成、失败或取消（客户端断开）时断开上游并释放名额。
+     * 已输出部分内容后不重试
+     *
+     * @return 逐段生成的文本
+     */
+    public Flux<String> streamChat(Long userId, String message, String theme) {
+        Map<String, Object> requestBody = Map.of(
+                "message", message,
+                "user_id", userId,
+                "theme", theme != null ? theme : "general"
+        );
+
+        Flux<String> chunks = clients.ai()
+                .post()
+                .uri("/api/v1/ai/chat/stream")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .bodyValue(requestBody)
+                .retrieve()
+                .bodyToFlux(CHAT_EVENT_TYPE)
+                .<String>handle((event, sink) -> {
+                    Map<String, Object> data = event.data();
+                    if ("done".equals(event.event())) {
+                        sink.complete();
+                    } else if ("error".equals(event.event())) {
+                        Object reason = data != null ? data.get("message") : null;
+                        sink.error(new IllegalStateException("上游对话出错: " + reason));
+                    } else if (data != null && data.get("delta") instanceof String delta && !delta.isEmpty()) {
+                        sink.next(delta);
+                    }
+                });
+
+        Flux<String> stream = guards.protect(Endpoint.CHAT_STREAM, chunks)
+                .doOnSubscribe(subscription -> log.debug("调用AI服务进行流式对话: userId={}, theme={}", userId, theme))
+                .doOnComplete(() -> log.debug("AI流式对话完成: userId={}", userId))
+                .doOnCancel(() -> log.debug("AI流式对话已取消: userId={}", userId))
+                .doOnError(error -> log.error("AI流式对话失败: userId={}, error={}", userId, error.getMessage()));
+
+        return chatStreamLimiter.limit(userId, stream, () -> {
+            log.warn("流式对话并发已达上限: userId={}, limit={}", userId, chatStreamLimiter.getMaxPerKey());
+            return new ChatStreamLimitException(chatStreamLimiter.getMaxPerKey());
+        });
+    }
+
+    /**
+     * 该用户同时进行的流式对话是否已达上限
+     * 仅用于在建立SSE响应前快速返回429，名额以订阅时的占用结果为准
+     */
+    public boolean isChatStreamLimitReached(Long userId) {
+        return chatStreamLimiter.active(userId) >= chatStreamLimiter.getMaxPerKey();
     }
 
     /**
@@ -127,24 +269,25 @@ public class AIIntegrationService {
                 "user_id", userId
         );
 
-        return getWebClient()
-                .post()
-                .uri("/api/v1/ocr/recognize")
-                .bodyValue(requestBody)
-                .retrieve()
-                .bodyToMono(Map.class)
-                .timeout(Duration.ofMillis(aiServiceTimeout))
+        return guards.protect(Endpoint.OCR, clients.ocr()
+                        .post()
+                        .uri("/api/v1/ocr/recognize")
+                        .bodyValue(requestBody)
+                        .retrieve()
+                        .bodyToMono(Map.class)
+                        .timeout(clients.timeout(AIServiceClients.Downstream.OCR)))
                 .retryWhen(Retry.backoff(2, Duration.ofSeconds(1))
-                        .maxBackoff(Duration.ofSeconds(5)))
+                        .maxBackoff(Duration.ofSeconds(5))
+                        .filter(AIServiceGuards::isRetryable))
                 .doOnSuccess(response -> log.debug("OCR识别成功: userId={}", userId))
                 .doOnError(error -> log.error("OCR识别失败: userId={}, error={}", userId, error.getMessage()))
-                .onErrorMap(Exception.class, ex -> new RuntimeException("OCR识别失败: " + ex.getMessage()));
+                .onErrorMap(AIServiceGuards::isRetryable, ex -> new RuntimeException("OCR识别失败: " + ex.getMessage()));
     }
 
     /**
-     * 调用Python数据分析服务
+     * 调用Python数据分析服务（结果缓存）
      */
-    public Mono<Map<String, Object>> analyzeData(
+    public Mono<CachedResult<Map<String, Object>>> analyzeData(
             Long userId,
             String analysisType,
             Map<String, Object> data,
@@ -159,45 +302,158 @@ public class AIIntegrationService {
                 "parameters", parameters != null ? parameters : Map.of()
         );
 
-        return getWebClient()
-                .post()
-                .uri("/api/v1/analytics/analyze")
-                .bodyValue(requestBody)
-                .retrieve()
-                .bodyToMono(Map.class)
-                .timeout(Duration.ofMillis(aiServiceTimeout))
+        return cachedCall("analytics", requestBody, () -> requestDataAnalysis(userId, requestBody));
+    }
+
+    private Mono<Map<String, Object>> requestDataAnalysis(Long userId, Map<String, Object> requestBody) {
+        return guards.protect(Endpoint.ANALYTICS, clients.analytics()
+                        .post()
+                        .uri("/api/v1/analytics/analyze")
+                        .bodyValue(requestBody)
+                        .retrieve()
+                        .bodyToMono(Map.class)
+                        .timeout(clients.timeout(AIServiceClients.Downstream.ANALYTICS)))
                 .retryWhen(Retry.backoff(2, Duration.ofSeconds(1))
-                        .maxBackoff(Duration.ofSeconds(5)))
+                        .maxBackoff(Duration.ofSeconds(5))
+                        .filter(AIServiceGuards::isRetryable))
                 .doOnSuccess(response -> log.debug("数据分析成功: userId={}", userId))
                 .doOnError(error -> log.error("数据分析失败: userId={}, error={}", userId, error.getMessage()))
-                .onErrorMap(Exception.class, ex -> new RuntimeException("数据分析失败: " + ex.getMessage()));
+                .onErrorMap(AIServiceGuards::isRetryable, ex -> new RuntimeException("数据分析失败: " + ex.getMessage()));
     }
 
     /**
-     * 调用Python服务进行风险评估
+     * 调用Python服务进行风险评估（结果缓存）
      */
-    public Mono<Map<String, Object>> assessPortfolioRisk(
+    public Mono<CachedResult<Map<String, Object>>> assessPortfolioRisk(
             Long userId,
             Map<String, Object> portfolioData,
             Integer timeHorizon) {
 
         log.debug("调用风险评估服务: userId={}, timeHorizon={}", userId, timeHorizon);
 
-        return getWebClient()
-                .post()
-                .uri(uriBuilder -> uriBuilder
-                        .path("/api/v1/analytics/risk-assessment")
-                        .queryParam("user_id", userId)
-                        .queryParam("time_horizon", timeHorizon != null ? timeHorizon : 1)
-                        .build())
-                .bodyValue(portfolioData)
-                .retrieve()
-                .bodyToMono(Map.class)
-                .timeout(Duration.ofMillis(aiServiceTimeout))
-                .retryWhen(Retry.backoff(2, Duration.ofSeconds(1)))
+        int horizon = timeHorizon != null ? timeHorizon : 1;
+        Map<String, Object> keyBody = Map.of(
+                "user_id", userId,
+                "time_horizon", horizon,
+                "portfolio_data", portfolioData != null ? portfolioData : Map.of()
+        );
+        return cachedCall("risk", keyBody, () -> requestRiskAssessment(userId, portfolioData, horizon));
+    }
+
+    private Mono<Map<String, Object>> requestRiskAssessment(Long userId, Map<String, Object> portfolioData,
+                                                            int timeHorizon) {
+        return guards.protect(Endpoint.RISK, clients.analytics()
+                        .post()
+                        .uri(uriBuilder -> uriBuilder
+                                .path("/api/v1/analytics/risk-assessment")
+                                .queryParam("user_id", userId)
+                                .queryParam("time_horizon", timeHorizon)
+                                .build())
+                        .bodyValue(portfolioData)
+                        .retrieve()
+                        .bodyToMono(Map.class)
+                        .timeout(clients.timeout(AIServiceClients.Downstream.ANALYTICS)))
+                .retryWhen(Retry.backoff(2, Duration.ofSeconds(1))
+                        .filter(AIServiceGuards::isRetryable))
                 .doOnSuccess(response -> log.debug("风险评估成功: userId={}", userId))
                 .doOnError(error -> log.error("风险评估失败: userId={}, error={}", userId, error.getMessage()))
-                .onErrorMap(Exception.class, ex -> new RuntimeException("风险评估失败: " + ex.getMessage()));
+                .onErrorMap(AIServiceGuards::isRetryable, ex -> new RuntimeException("风险评估失败: " + ex.getMessage()));
+    }
+
+    /**
+     * 结果缓存加请求合并
+     * 缓存键为请求类型、请求摘要和所涉基金的最新净值日期；未命中时相同请求合并为一次上游调用，
+     * 仅缓存成功结果。缓存读写在弹性线程池上执行，不占用网络事件线程
+     */
+    private Mono<CachedResult<Map<String, Object>>> cachedCall(String kind, Map<String, Object> requestBody,
+                                                               Supplier<Mono<Map<String, Object>>> upstream) {
+        String digest = requestDigest(requestBody);
+        Cache cache = cacheManager.getCache(CacheNames.AI_RESULT);
+        if (digest == null || cache == null) {
+            return upstream.get().map(CachedResult::bypass);
+        }
+        String key = kind + ":" + digest + ":" + marketDataDate(requestBody);
+
+        return Mono.fromCallable(() -> lookup(cache, key))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(cached -> cached.isPresent()
+                        ? Mono.just(CachedResult.hit(cached.get()))
+                        : resultFlights.execute(key, () -> upstream.get()
+                                        .publishOn(Schedulers.boundedElastic())
+                                        .doOnNext(result -> store(cache, key, result)))
+                                .map(CachedResult::miss));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Optional<Map<String, Object>> lookup(Cache cache, String key) {
+        try {
+            return Optional.ofNullable((Map<String, Object>) cache.get(key, Map.class));
+        } catch (RuntimeException ex) {
+            log.warn("读取AI结果缓存失败，按未命中处理: {}", ex.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private static void store(Cache cache, String key, Map<String, Object> result) {
+        try {
+            cache.put(key, result);
+        } catch (RuntimeException ex) {
+            log.warn("写入AI结果缓存失败: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * 请求所涉基金的最新净值日期；请求中没有可识别的基金代码时取基金目录中最新的净值日期
+     */
+    private String marketDataDate(Map<String, Object> requestBody) {
+        FundCatalog catalog = fundService.getCatalog();
+        Set<String> fundCodes = new HashSet<>();
+        collectFundCodes(requestBody, fundCodes);
+
+        LocalDate latest = null;
+        for (String fundCode : fundCodes) {
+            FundDTO fund = catalog.findByCode(fundCode);
+            if (fund != null && fund.getNavDate() != null
+                    && (latest == null || fund.getNavDate().isAfter(latest))) {
+                latest = fund.getNavDate();
+            }
+        }
+        if (latest == null) {
+            latest = latestNavDate(catalog);
+        }
+        return latest != null ? latest.toString() : "none";
+    }
+
+    private LocalDate latestNavDate(FundCatalog catalog) {
+        CatalogNavDate cached = catalogNavDate;
+        if (cached != null && cached.version() == catalog.getVersion()) {
+            return cached.navDate();
+        }
+        LocalDate latest = null;
+        for (FundDTO fund : catalog.all()) {
+            if (fund.getNavDate() != null && (latest == null || fund.getNavDate().isAfter(latest))) {
+                latest = fund.getNavDate();
+            }
+        }
+        catalogNavDate = new CatalogNavDate(catalog.getVersion(), latest);
+        return latest;
+    }
+
+    /**
+     * 递归收集请求中 fund_code/fundCode 字段的基金代码
+     */
+    private static void collectFundCodes(Object node, Set<String> fundCodes) {
+        if (node instanceof Map<?, ?> map) {
+            map.forEach((key, value) -> {
+                if (("fund_code".equals(key) || "fundCode".equals(key)) && value instanceof String code) {
+                    fundCodes.add(code);
+                } else {
+                    collectFundCodes(value, fundCodes);
+                }
+            });
+        } else if (node instanceof Collection<?> items) {
+            items.forEach(item -> collectFundCodes(item, fundCodes));
+        }
     }
 
     /**
@@ -206,7 +462,7 @@ public class AIIntegrationService {
     public Mono<Boolean> checkAIHealth() {
         log.debug("检查AI服务健康状态");
 
-        return getWebClient()
+        return clients.ai()
                 .get()
                 .uri("/api/v1/ai/health")
                 .retrieve()
@@ -226,7 +482,7 @@ public class AIIntegrationService {
     public Mono<Boolean> checkOCRHealth() {
         log.debug("检查OCR服务健康状态");
 
-        return getWebClient()
+        return clients.ocr()
                 .get()
                 .uri("/api/v1/ocr/health")
                 .retrieve()
@@ -246,7 +502,7 @@ public class AIIntegrationService {
     public Mono<Boolean> checkAnalyticsHealth() {
         log.debug("检查数据分析服务健康状态");
 
-        return getWebClient()
+        return clients.analytics()
                 .get()
                 .uri("/api/v1/analytics/health")
                 .retrieve()
@@ -260,13 +516,16 @@ public class AIIntegrationService {
                 .doOnSuccess(healthy -> log.debug("数据分析服务健康状态: {}", healthy ? "健康" : "不健康"));
     }
 
+    private record CatalogNavDate(long version, LocalDate navDate) {
+    }
+
     /**
-     * 获取WebClient实例
+     * 用户同时进行的流式对话已达上限
      */
-    private WebClient getWebClient() {
-        return webClientBuilder
-                .baseUrl(aiServiceBaseUrl)
-                .build();
-    }
+    public static class ChatStreamLimitException extends RuntimeException {
 
-}
\ No newline at end of file
+        public ChatStreamLimitException(int limit) {
+            super("同时进行的流式对话已达上限: " + limit);
+        }
+    }
+}
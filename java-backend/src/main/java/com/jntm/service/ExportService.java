@@ -0,0 +1,255 @@
+package com.jntm.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jntm.catalog.FundCatalog;
+import com.jntm.dto.FundDTO;
+import com.jntm.dto.UserDTO;
+import com.jntm.dto.UserFundDTO;
+import com.jntm.entity.User;
+import com.jntm.entity.UserFund;
+import com.jntm.repository.UserFundRepository;
+import com.jntm.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * 数据导出服务类
+ * 用户和持仓通过只读事务内的流式查询逐行读取，写出后立即从持久化上下文中分离；
+ * 基金直接从内存基金目录导出。输出为 NDJSON 或 CSV，内存占用与数据量无关，
+ * 写出阻塞于客户端读取速度（慢客户端自然限流）
+ *
+ * @author JNTM Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ExportService {
+
+    /**
+     * 导出格式
+     */
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv;charset=UTF-8", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        /**
+         * 按名称解析导出格式（忽略大小写），不支持时返回null
+         */
+        public static Format of(String name) {
+            if (name == null) {
+                return null;
+            }
+            for (Format format : values()) {
+                if (format.extension.equalsIgnoreCase(name.trim())) {
+                    return format;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * 电子表格中会触发公式解析的首字符
+     */
+    private static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+    private static final List<Column<UserDTO>> USER_COLUMNS = List.of(
+            new Column<>("id", UserDTO::getId),
+            new Column<>("username", UserDTO::getUsername),
+            new Column<>("email", UserDTO::getEmail),
+            new Column<>("phone", UserDTO::getPhone),
+            new Column<>("nickname", UserDTO::getNickname),
+            new Column<>("currentTheme", UserDTO::getCurrentTheme),
+            new Column<>("riskTolerance", UserDTO::getRiskTolerance),
+            new Column<>("role", UserDTO::getRole),
+            new Column<>("status", UserDTO::getStatus),
+            new Column<>("lastLoginAt", UserDTO::getLastLoginAt),
+            new Column<>("createdAt", UserDTO::getCreatedAt)
+    );
+
+    private static final List<Column<FundDTO>> FUND_COLUMNS = List.of(
+            new Column<>("fundCode", FundDTO::getFundCode),
+            new Column<>("fundName", FundDTO::getFundName),
+            new Column<>("fundType", FundDTO::getFundType),
+            new Column<>("fundCompany", FundDTO::getFundCompany),
+            new Column<>("riskLevel", FundDTO::getRiskLevel),
+            new Column<>("status", FundDTO::getStatus),
+            new Column<>("nav", FundDTO::getNav),
+            new Column<>("navDate", FundDTO::getNavDate),
+            new Column<>("oneYearReturn", FundDTO::getOneYearReturn),
+            new Column<>("annualizedReturn", FundDTO::getAnnualizedReturn),
+            new Column<>("maxDrawdown", FundDTO::getMaxDrawdown),
+            new Column<>("sharpeRatio", FundDTO::getSharpeRatio),
+            new Column<>("fundSize", FundDTO::getFundSize)
+    );
+
+    private static final List<Column<UserFundDTO>> HOLDING_COLUMNS = List.of(
+            new Column<>("id", UserFundDTO::getId),
+            new Column<>("userId", UserFundDTO::getUserId),
+            new Column<>("fundCode", UserFundDTO::getFundCode),
+            new Column<>("fundName", UserFundDTO::getFundName),
+            new Column<>("shares", UserFundDTO::getShares),
+            new Column<>("costPrice", UserFundDTO::getCostPrice),
+            new Column<>("costAmount", UserFundDTO::getCostAmount),
+            new Column<>("currentValue", UserFundDTO::getCurrentValue),
+            new Column<>("currentProfitLoss", UserFundDTO::getCurrentProfitLoss),
+            new Column<>("returnRate", UserFundDTO::getReturnRate),
+            new Column<>("purchaseDate", UserFundDTO::getPurchaseDate),
+            new Column<>("status", UserFundDTO::getStatus)
+    );
+
+    private final UserRepository userRepository;
+    private final UserFundRepository userFundRepository;
+    private final FundService fundService;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+
+    /**
+     * 导出全部用户
+     *
+     * @return 导出行数
+     */
+    @Transactional(readOnly = true)
+    public long exportUsers(OutputStream out, Format format) throws IOException {
+        try (Stream<User> users = userRepository.streamAllOrderById()) {
+            long rows = write(out, format, USER_COLUMNS, users.map(user -> {
+                UserDTO dto = UserDTO.fromEntity(user);
+                entityManager.detach(user);
+                return dto;
+            }).iterator());
+            log.info("用户导出完成: format={}, rows={}", format, rows);
+            return rows;
+        }
+    }
+
+    /**
+     * 导出全部基金（内存基金目录）
+     *
+     * @return 导出行数
+     */
+    public long exportFunds(OutputStream out, Format format) throws IOException {
+        FundCatalog catalog = fundService.getCatalog();
+        long rows = write(out, format, FUND_COLUMNS, catalog.all().iterator());
+        log.info("基金导出完成: format={}, rows={}", format, rows);
+        return rows;
+    }
+
+    /**
+     * 导出持仓，userId 为空时导出全部用户的持仓
+     *
+     * @return 导出行数
+     */
+    @Transactional(readOnly = true)
+    public long exportHoldings(Long userId, OutputStream out, Format format) throws IOException {
+        FundCatalog catalog = fundService.getCatalog();
+        try (Stream<UserFund> holdings = userId != null
+                ? userFundRepository.streamByUserIdOrderById(userId)
+                : userFundRepository.streamAllOrderById()) {
+            long rows = write(out, format, HOLDING_COLUMNS, holdings.map(holding -> {
+                FundDTO fund = catalog.findByCode(holding.getFundCode());
+                UserFundDTO dto = UserFundDTO.fromEntityWithFundName(holding, fund != null ? fund.getFundName() : null);
+                entityManager.detach(holding);
+                return dto;
+            }).iterator());
+            log.info("持仓导出完成: userId={}, format={}, rows={}", userId, format, rows);
+            return rows;
+        }
+    }
+
+    /**
+     * 逐行写出，缓冲区满时写入响应流
+     */
+    private <T> long write(OutputStream out, Format format, List<Column<T>> columns,
+                           Iterator<T> rows) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == Format.CSV) {
+            // BOM，便于Excel正确识别UTF-8中文
+            writer.write('\uFEFF');
+            writeCsvLine(writer, columns, Column::header);
+        }
+
+        long count = 0;
+        while (rows.hasNext()) {
+            T row = rows.next();
+            if (format == Format.CSV) {
+                writeCsvLine(writer, columns, column -> column.value().apply(row));
+            } else {
+                writer.write(objectMapper.writeValueAsString(row));
+                writer.write('\n');
+            }
+            count++;
+        }
+        writer.flush();
+        return count;
+    }
+
+    private static <T> void writeCsvLine(Writer writer, List<Column<T>> columns,
+                                         Function<Column<T>, Object> cell) throws IOException {
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = cell.apply(columns.get(i));
+            if (value instanceof Number) {
+                writer.write(value.toString());
+            } else if (value != null) {
+                writer.write(escapeCsv(value.toString()));
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    /**
+     * CSV转义：含逗号、引号或换行时加引号，内部引号加倍
+     * 以 = + - @ 制表符或回车开头的文本在Excel中会被当作公式执行，前面加单引号并加引号输出
+     */
+    static String escapeCsv(String value) {
+        boolean formula = !value.isEmpty() && FORMULA_PREFIXES.indexOf(value.charAt(0)) >= 0;
+        boolean quote = formula;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            return value;
+        }
+        return '"' + (formula ? "'" : "") + value.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * 导出列
+     */
+    private record Column<T>(String header, Function<T, Object> value) {
+    }
+}
@@ -0,0 +1,308 @@
+package com.jntm.service;
+
+import com.jntm.catalog.FundCatalog;
+import com.jntm.catalog.FundCatalogRefreshedEvent;
+import com.jntm.catalog.FundLeaderboards;
+import com.jntm.catalog.FundMetricsStore;
+import com.jntm.catalog.FundSearchIndex;
+import com.jntm.catalog.LeaderboardMetric;
+import com.jntm.dto.CursorPage;
+import com.jntm.dto.FundDTO;
+import com.jntm.dto.FundRankingDTO;
+import com.jntm.dto.FundScreenRequest;
+import com.jntm.dto.PageCursor;
+import com.jntm.entity.Fund;
+import com.jntm.repository.FundRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 基金业务服务类
+ * 读请求全部由内存中的基金目录快照提供，不访问数据库；
+ * 快照定时全量重建后整体替换（写时复制），读方无需加锁
+ *
+ * @author JNTM Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FundService {
+
+    /**
+     * 基金游标排序类型（基金代码升序）
+     */
+    private static final String FUND_CURSOR_TYPE = "f1";
+
+    private final FundRepository fundRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final FundSearchIndex fundSearchIndex;
+    private final FundMetricsStore fundMetricsStore;
+    private final FundLeaderboards fundLeaderboards;
+
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    private volatile FundCatalog catalog = FundCatalog.empty();
+
+    /**
+     * 应用启动完成后加载基金目录
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        try {
+            refreshCatalog();
+        } catch (Exception ex) {
+            log.error("启动时加载基金目录失败，等待下次定时刷新: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * 定时刷新基金目录
+     */
+    @Scheduled(initialDelayString = "${jntm.fund-catalog.refresh-interval-ms:300000}",
+               fixedDelayString = "${jntm.fund-catalog.refresh-interval-ms:300000}")
+    public void scheduledRefresh() {
+        try {
+            refreshCatalog();
+        } catch (Exception ex) {
+            log.error("定时刷新基金目录失败，继续使用旧快照: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * 从数据库重建基金目录并替换当前快照
+     * 并发调用时串行执行，失败时保留旧快照
+     *
+     * @return 新快照
+     */
+    public FundCatalog refreshCatalog() {
+        refreshLock.lock();
+        try {
+            long start = System.currentTimeMillis();
+            FundCatalog previous = catalog;
+            FundCatalog next = FundCatalog.build(fundRepository.findAll(), previous.getVersion() + 1);
+
+            Set<String> changedCodes = new HashSet<>();
+            for (FundDTO fund : next.all()) {
+                if (!Objects.equals(fund, previous.findByCode(fund.getFundCode()))) {
+                    changedCodes.add(fund.getFundCode());
+                }
+            }
+            Set<String> removedCodes = new HashSet<>();
+            for (FundDTO fund : previous.all()) {
+                if (next.ordinalOf(fund.getFundCode()) < 0) {
+                    removedCodes.add(fund.getFundCode());
+                }
+            }
+
+            catalog = next;
+            log.info("基金目录刷新完成: version={}, size={}, changed={}, removed={}, 耗时={}ms",
+                    next.getVersion(), next.size(), changedCodes.size(), removedCodes.size(),
+                    System.currentTimeMillis() - start);
+
+            eventPublisher.publishEvent(new FundCatalogRefreshedEvent(this, next, previous,
+                    Collections.unmodifiableSet(changedCodes), Collections.unmodifiableSet(removedCodes)));
+            return next;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * 当前基金目录快照
+     */
+    public FundCatalog getCatalog() {
+        return catalog;
+    }
+
+    /**
+     * 根据基金代码查找基金
+     */
+    public FundDTO findByFundCode(String fundCode) {
+        return catalog.findByCode(fundCode);
+    }
+
+    /**
+     * 根据基金类型查找基金
+     */
+    public List<FundDTO> findByFundType(Fund.FundType fundType) {
+        FundCatalog snapshot = catalog;
+        return snapshot.resolve(snapshot.ordinalsByType(fundType));
+    }
+
+    /**
+     * 根据风险等级查找基金
+     */
+    public List<FundDTO> findByRiskLevel(Fund.RiskLevel riskLevel) {
+        FundCatalog snapshot = catalog;
+        return snapshot.resolve(snapshot.ordinalsByRiskLevel(riskLevel));
+    }
+
+    /**
+     * 根据基金公司查找基金
+     */
+    public List<FundDTO> findByFundCompany(String fundCompany) {
+        FundCatalog snapshot = catalog;
+        return snapshot.resolve(snapshot.ordinalsByCompany(fundCompany));
+    }
+
+    /**
+     * 按名称、代码、公司或拼音首字母检索基金，结果按相关度排序
+     */
+    public Page<FundDTO> searchFunds(String keyword, Pageable pageable) {
+        return fundSearchIndex.search(keyword, pageable);
+    }
+
+    /**
+     * 按指标区间和分类条件组合筛选基金
+     */
+    public Page<FundDTO> screenFunds(FundScreenRequest request) {
+        return fundMetricsStore.screen(request);
+    }
+
+    /**
+     * 获取排行榜前limit名（仅正常状态的基金）
+     */
+    public List<FundRankingDTO> getLeaderboard(LeaderboardMetric metric, Fund.FundType fundType,
+                                               Fund.RiskLevel riskLevel, int limit) {
+        return fundLeaderboards.top(metric, fundType, riskLevel, limit);
+    }
+
+    /**
+     * 基金公司及其基金数量
+     */
+    public Map<String, Integer> getCompanyCounts() {
+        return catalog.companyCounts();
+    }
+
+    /**
+     * 分页查询基金，支持按类型、风险等级、公司、状态组合筛选
+     * 结果按基金代码排序
+     */
+    public Page<FundDTO> findFunds(Fund.FundType fundType, Fund.RiskLevel riskLevel,
+                                   String fundCompany, Fund.FundStatus status, Pageable pageable) {
+        FundCatalog snapshot = catalog;
+        int[] matched = matchOrdinals(snapshot, fundType, riskLevel, fundCompany, status);
+
+        int total = matched != null ? matched.length : snapshot.size();
+        int from = (int) Math.min(pageable.getOffset(), total);
+        int to = Math.min(from + pageable.getPageSize(), total);
+
+        List<FundDTO> content = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            content.add(snapshot.get(matched != null ? matched[i] : i));
+        }
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    /**
+     * 游标分页查询基金，筛选条件同 {@link #findFunds}
+     * 游标为上一页末条基金代码，目录刷新后仍从该代码之后继续；总数来自内存目录，无额外开销
+     */
+    public CursorPage<FundDTO> findFundsByCursor(Fund.FundType fundType, Fund.RiskLevel riskLevel,
+                                                 String fundCompany, Fund.FundStatus status,
+                                                 String cursor, int size) {
+        String[] keys = PageCursor.decode(cursor, FUND_CURSOR_TYPE, 1);
+        FundCatalog snapshot = catalog;
+        int[] matched = matchOrdinals(snapshot, fundType, riskLevel, fundCompany, status);
+        int total = matched != null ? matched.length : snapshot.size();
+
+        // 目录按基金代码排序，二分定位第一个代码大于游标的位置
+        int from = 0;
+        if (keys != null) {
+            String afterCode = keys[0];
+            int lo = 0;
+            int hi = total;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                String code = snapshot.get(matched != null ? matched[mid] : mid).getFundCode();
+                if (code.compareTo(afterCode) <= 0) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            from = lo;
+        }
+        int to = Math.min(from + size, total);
+
+        List<FundDTO> content = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            content.add(snapshot.get(matched != null ? matched[i] : i));
+        }
+        boolean hasNext = to < total;
+        String nextCursor = hasNext
+                ? PageCursor.encode(FUND_CURSOR_TYPE, content.get(content.size() - 1).getFundCode())
+                : null;
+        return new CursorPage<>(content, nextCursor, hasNext, size, (long) total);
+    }
+
+    /**
+     * 按筛选条件求匹配的序号数组（升序），无筛选条件时返回null表示全部
+     */
+    private static int[] matchOrdinals(FundCatalog snapshot, Fund.FundType fundType, Fund.RiskLevel riskLevel,
+                                       String fundCompany, Fund.FundStatus status) {
+        List<int[]> filters = new ArrayList<>(4);
+        if (fundType != null) {
+            filters.add(snapshot.ordinalsByType(fundType));
+        }
+        if (riskLevel != null) {
+            filters.add(snapshot.ordinalsByRiskLevel(riskLevel));
+        }
+        if (fundCompany != null && !fundCompany.isEmpty()) {
+            filters.add(snapshot.ordinalsByCompany(fundCompany));
+        }
+        if (status != null) {
+            filters.add(snapshot.ordinalsByStatus(status));
+        }
+        if (filters.isEmpty()) {
+            return null;
+        }
+
+        // 从最短的序号数组开始求交集
+        filters.sort((a, b) -> Integer.compare(a.length, b.length));
+        int[] matched = filters.get(0);
+        for (int i = 1; i < filters.size() && matched.length > 0; i++) {
+            matched = intersect(matched, filters.get(i));
+        }
+        return matched;
+    }
+
+    /**
+     * 两个升序序号数组求交集
+     */
+    private static int[] intersect(int[] a, int[] b) {
+        int[] result = new int[Math.min(a.length, b.length)];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return n == result.length ? result : Arrays.copyOf(result, n);
+    }
+}
@@ -0,0 +1,165 @@
+package com.jntm.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 登录活动记录器
+ * 登录时只在内存中记录最后登录时间和IP（同一用户多次登录合并为最新一次），
+ * 定时批量写入用户表，登录请求不再等待数据库写入；应用关闭前写出剩余记录
+ *
+ * @author JNTM Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+public class LoginActivityRecorder {
+
+    /**
+     * IP为空时保留原值；只在登录时间更新时写入，避免多节点乱序覆盖
+     */
+    private static final String UPDATE_SQL =
+            "UPDATE users SET last_login_at = ?, last_login_ip = COALESCE(?, last_login_ip) " +
+            "WHERE id = ? AND (last_login_at IS NULL OR last_login_at < ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Counter flushedCounter;
+    private final Counter failedCounter;
+
+    private final Map<Long, LoginActivity> pending = new ConcurrentHashMap<>();
+
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    @Value("${jntm.login-activity.batch-size:500}")
+    private int batchSize;
+
+    public LoginActivityRecorder(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.flushedCounter = meterRegistry.counter("jntm.login.activity.flush", "result", "written");
+        this.failedCounter = meterRegistry.counter("jntm.login.activity.flush", "result", "failed");
+    }
+
+    /**
+     * 记录一次登录
+     *
+     * @param userId  用户ID
+     * @param loginIp 登录IP，为空时不修改原值
+     */
+    public void record(Long userId, String loginIp) {
+        if (userId == null) {
+            return;
+        }
+        pending.merge(userId, new LoginActivity(LocalDateTime.now(), loginIp), LoginActivity::newer);
+    }
+
+    /**
+     * 待写入的用户数
+     */
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * 定时批量写入
+     */
+    @Scheduled(initialDelayString = "${jntm.login-activity.flush-interval-ms:5000}",
+               fixedDelayString = "${jntm.login-activity.flush-interval-ms:5000}")
+    public void scheduledFlush() {
+        try {
+            flush();
+        } catch (Exception ex) {
+            log.error("登录活动写入失败，等待下次重试: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * 应用关闭前写出剩余记录
+     */
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    /**
+     * 取出当前全部待写记录并分批执行 UPDATE
+     * 写入失败的记录放回缓冲区（与期间的新登录合并），下次重试
+     *
+     * @return 写入的记录数
+     */
+    public int flush() {
+        if (pending.isEmpty()) {
+            return 0;
+        }
+        flushLock.lock();
+        try {
+            List<Map.Entry<Long, LoginActivity>> drained = new ArrayList<>(pending.size());
+            for (Long userId : pending.keySet()) {
+                LoginActivity activity = pending.remove(userId);
+                if (activity != null) {
+                    drained.add(Map.entry(userId, activity));
+                }
+            }
+
+            int written = 0;
+            for (int from = 0; from < drained.size(); from += batchSize) {
+                List<Map.Entry<Long, LoginActivity>> batch =
+                        drained.subList(from, Math.min(from + batchSize, drained.size()));
+                try {
+                    jdbcTemplate.batchUpdate(UPDATE_SQL, batch, batch.size(), (ps, entry) -> {
+                        Timestamp loginAt = Timestamp.valueOf(entry.getValue().loginAt());
+                        ps.setTimestamp(1, loginAt);
+                        ps.setString(2, entry.getValue().loginIp());
+                        ps.setLong(3, entry.getKey());
+                        ps.setTimestamp(4, loginAt);
+                    });
+                    written += batch.size();
+                } catch (RuntimeException ex) {
+                    // 本批及之后未写入的记录全部放回
+                    List<Map.Entry<Long, LoginActivity>> unwritten = drained.subList(from, drained.size());
+                    failedCounter.increment(unwritten.size());
+                    unwritten.forEach(entry -> pending.merge(entry.getKey(), entry.getValue(), LoginActivity::newer));
+                    flushedCounter.increment(written);
+                    throw ex;
+                }
+            }
+
+            flushedCounter.increment(written);
+            log.debug("登录活动已写入: {}条", written);
+            return written;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * 登录活动
+     */
+    private record LoginActivity(LocalDateTime loginAt, String loginIp) {
+
+        /**
+         * 合并两次登录，保留较新的一次；较新一次无IP时沿用旧IP
+         */
+        static LoginActivity newer(LoginActivity a, LoginActivity b) {
+            LoginActivity latest = b.loginAt.isBefore(a.loginAt) ? a : b;
+            LoginActivity other = latest == a ? b : a;
+            return latest.loginIp != null || other.loginIp == null
+                    ? latest
+                    : new LoginActivity(latest.loginAt, other.loginIp);
+        }
+    }
+}
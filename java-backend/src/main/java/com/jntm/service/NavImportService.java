@@ -0,0 +1,510 @@
+package com.jntm.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jntm.catalog.FundCatalog;
+import com.jntm.dto.FundDTO;
+import com.jntm.dto.NavImportReport;
+import com.jntm.dto.NavRecord;
+import com.jntm.event.NavUpdatedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 基金净值批量导入服务
+ * 流式读取CSV/JSON净值数据，逐条校验后按批次写入funds表
+ *
+ * 写入使用 INSERT ... ON DUPLICATE KEY UPDATE 而不是JPA：funds表主键为IDENTITY，
+ * Hibernate无法批量写入；配合连接参数 rewriteBatchedStatements=true，
+ * MySQL驱动会把一个批次改写为一条多值INSERT语句，一次往返写入整批数据。
+ * 只有基金目录中已存在的基金会被接受，INSERT部分实际总是命中唯一键走UPDATE分支，
+ * 且只在新净值日期不早于已有日期时覆盖（包括更新时间列）。
+ * 是否真正改变了净值按导入开始时的基金目录判断，只有改变了的基金才触发目录刷新和持仓重估：
+ * 批量改写后驱动返回的影响行数不可靠（SUCCESS_NO_INFO，且默认按匹配行计数）
+ *
+ * 每个批次单独提交：导入结束后，无论成功还是中途失败，都对已写入批次中的基金刷新基金目录并发布
+ * {@link NavUpdatedEvent}；中途失败时抛出携带已写入部分统计的 {@link PartialImportException}
+ *
+ * @author JNTM Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+public class NavImportService {
+
+    private static final String DATA_SOURCE = "nav-import";
+
+    private static final int MAX_ERRORS = 100;
+
+    private static final String NEWER = "(nav_date IS NULL OR VALUES(nav_date) >= nav_date)";
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO funds (fund_code, fund_name, fund_type, fund_company, status, " +
+            "nav, cumulative_nav, nav_date, daily_growth_rate, data_source, last_updated_at, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE " +
+            "nav = IF(" + NEWER + ", VALUES(nav), nav), " +
+            "cumulative_nav = IF(" + NEWER + ", VALUES(cumulative_nav), cumulative_nav), " +
+            "daily_growth_rate = IF(" + NEWER + ", VALUES(daily_growth_rate), daily_growth_rate), " +
+            "data_source = IF(" + NEWER + ", VALUES(data_source), data_source), " +
+            "last_updated_at = IF(" + NEWER + ", VALUES(last_updated_at), last_updated_at), " +
+            "updated_at = IF(" + NEWER + ", VALUES(updated_at), updated_at), " +
+            // nav_date 必须最后赋值，前面的条件比较的是旧日期
+            "nav_date = IF(" + NEWER + ", VALUES(nav_date), nav_date)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final FundService fundService;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Counter acceptedCounter;
+    private final Counter rejectedCounter;
+    private final Counter duplicateCounter;
+    private final Timer batchTimer;
+
+    private final ReentrantLock importLock = new ReentrantLock();
+
+    @Value("${jntm.nav-import.batch-size:1000}")
+    private int batchSize;
+
+    public NavImportService(JdbcTemplate jdbcTemplate,
+                            FundService fundService,
+                            ObjectMapper objectMapper,
+                            ApplicationEventPublisher eventPublisher,
+                            MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.fundService = fundService;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.acceptedCounter = meterRegistry.counter("jntm.nav.import.records", "result", "accepted");
+        this.rejectedCounter = meterRegistry.counter("jntm.nav.import.records", "result", "rejected");
+        this.duplicateCounter = meterRegistry.counter("jntm.nav.import.records", "result", "duplicate");
+        this.batchTimer = meterRegistry.timer("jntm.nav.import.batch");
+    }
+
+    /**
+     * 导入CSV格式净值
+     * 首行为表头，列名支持 fund_code/fundCode、nav、cumulative_nav、nav_date、daily_growth_rate
+     */
+    public NavImportReport importCsv(InputStream input) throws IOException {
+        return runImport(session -> {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+            String header = reader.readLine();
+            if (header == null) {
+                return;
+            }
+            Map<String, Integer> columns = parseHeader(header);
+            if (!columns.containsKey("fund_code") || !columns.containsKey("nav") || !columns.containsKey("nav_date")) {
+                throw new IllegalArgumentException("CSV表头缺少必需列: fund_code, nav, nav_date");
+            }
+
+            String line;
+            long lineNumber = 1;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    session.accept(parseCsvLine(line, columns), "第" + lineNumber + "行");
+                } catch (IllegalArgumentException | DateTimeParseException ex) {
+                    session.malformed("第" + lineNumber + "行: 格式错误 " + ex.getMessage());
+                }
+            }
+        });
+    }
+
+    /**
+     * 导入JSON格式净值
+     * 顶层为 {@link NavRecord} 数组，逐个元素先完整读为树再转换：
+     * 单个元素字段值错误只拒绝该条，不会让解析器停在对象内部而丢弃后续记录
+     */
+    public NavImportReport importJson(InputStream input) throws IOException {
+        return runImport(session -> {
+            try (JsonParser parser = objectMapper.getFactory().createParser(input)) {
+                if (parser.nextToken() != JsonToken.START_ARRAY) {
+                    throw new IllegalArgumentException("JSON净值数据必须是数组");
+                }
+                long index = 0;
+                JsonToken token;
+                while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                    if (token == null) {
+                        throw new IllegalArgumentException("JSON净值数据不完整: 缺少数组结束符");
+                    }
+                    index++;
+                    String position = "第" + index + "条";
+                    JsonNode node = objectMapper.readTree(parser);
+                    if (node == null || !node.isObject()) {
+                        session.malformed(position + ": 格式错误 不是对象");
+                        continue;
+                    }
+                    try {
+                        session.accept(objectMapper.treeToValue(node, NavRecord.class), position);
+                    } catch (JsonProcessingException ex) {
+                        session.malformed(position + ": 格式错误 " + ex.getOriginalMessage());
+                    }
+                }
+            }
+        });
+    }
+
+    private NavImportReport runImport(RecordSource source) throws IOException {
+        if (!importLock.tryLock()) {
+            throw new IllegalStateException("已有净值导入任务正在执行");
+        }
+        try {
+            ImportSession session = new ImportSession(fundService.getCatalog());
+            try {
+                source.read(session);
+                session.flush();
+            } catch (IOException | RuntimeException ex) {
+                NavImportReport report = session.report(ex.getMessage());
+                log.error("净值导入中断，已写入的批次保留: total={}, accepted={}, rejected={}, duplicate={}, batches={}, error={}",
+                        report.getTotalRecords(), report.getAcceptedRecords(), report.getRejectedRecords(),
+                        report.getDuplicateRecords(), report.getBatches(), ex.getMessage());
+                try {
+                    publishUpdates(session);
+                } catch (RuntimeException publishError) {
+                    ex.addSuppressed(publishError);
+                }
+                throw new PartialImportException(report, ex);
+            }
+
+            NavImportReport report = session.report(null);
+            log.info("净值导入完成: total={}, accepted={}, unchanged={}, rejected={}, duplicate={}, batches={}, 耗时={}ms, {}条/秒",
+                    report.getTotalRecords(), report.getAcceptedRecords(), report.getUnchangedRecords(),
+                    report.getRejectedRecords(), report.getDuplicateRecords(), report.getBatches(), report.getDurationMs(),
+                    report.getRecordsPerSecond());
+
+            publishUpdates(session);
+            return report;
+        } finally {
+            importLock.unlock();
+        }
+    }
+
+    /**
+     * 对已写入批次中的基金刷新基金目录并发布净值更新事件
+     */
+    private void publishUpdates(ImportSession session) {
+        if (!session.updatedCodes.isEmpty()) {
+            fundService.refreshCatalog();
+            eventPublisher.publishEvent(new NavUpdatedEvent(this,
+                    Collections.unmodifiableSet(session.updatedCodes)));
+        }
+    }
+
+    /**
+     * 写入一个批次
+     */
+    private void writeBatch(List<NavRecord> records, FundCatalog catalog) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        batchTimer.record(() -> jdbcTemplate.batchUpdate(UPSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                NavRecord record = records.get(i);
+                FundDTO fund = catalog.findByCode(record.getFundCode());
+                ps.setString(1, record.getFundCode());
+                ps.setString(2, fund.getFundName());
+                ps.setString(3, fund.getFundType().name());
+                ps.setString(4, fund.getFundCompany());
+                ps.setString(5, fund.getStatus().name());
+                ps.setBigDecimal(6, record.getNav());
+                ps.setBigDecimal(7, record.getCumulativeNav());
+                ps.setDate(8, Date.valueOf(record.getNavDate()));
+                ps.setBigDecimal(9, record.getDailyGrowthRate());
+                ps.setString(10, DATA_SOURCE);
+                ps.setTimestamp(11, now);
+                ps.setTimestamp(12, now);
+                ps.setTimestamp(13, now);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return records.size();
+            }
+        }));
+    }
+
+    /**
+     * 校验单条记录
+     *
+     * @return 错误原因，校验通过返回null
+     */
+    private static String validate(NavRecord record, FundCatalog catalog) {
+        if (record.getFundCode() == null || record.getFundCode().isBlank()) {
+            return "基金代码为空";
+        }
+        FundDTO fund = catalog.findByCode(record.getFundCode());
+        if (fund == null) {
+            return "基金不存在: " + record.getFundCode();
+        }
+        if (fund.getFundType() == null || fund.getStatus() == null) {
+            return "基金信息不完整: " + record.getFundCode();
+        }
+        if (record.getNav() == null || record.getNav().signum() <= 0) {
+            return "单位净值必须大于0";
+        }
+        if (!fitsPrecision(record.getNav(), 10, 4)) {
+            return "单位净值超出范围";
+        }
+        if (record.getCumulativeNav() != null
+                && (record.getCumulativeNav().signum() < 0 || !fitsPrecision(record.getCumulativeNav(), 10, 4))) {
+            return "累计净值无效";
+        }
+        if (record.getDailyGrowthRate() != null && !fitsPrecision(record.getDailyGrowthRate(), 8, 4)) {
+            return "日增长率超出范围";
+        }
+        if (record.getNavDate() == null) {
+            return "净值日期为空";
+        }
+        if (record.getNavDate().isAfter(LocalDate.now())) {
+            return "净值日期晚于今天";
+        }
+        return null;
+    }
+
+    /**
+     * 写入该记录是否会改变基金的净值数据
+     * 与 UPSERT_SQL 的条件一致：净值日期早于已有日期时整行不变；日期相同时只有数值不同才算改变
+     */
+    static boolean changesNav(NavRecord record, FundDTO fund) {
+        LocalDate current = fund.getNavDate();
+        if (current == null || record.getNavDate().isAfter(current)) {
+            return true;
+        }
+        if (record.getNavDate().isBefore(current)) {
+            return false;
+        }
+        return !sameValue(record.getNav(), fund.getNav())
+                || !sameValue(record.getCumulativeNav(), fund.getCumulativeNav())
+                || !sameValue(record.getDailyGrowthRate(), fund.getDailyGrowthRate());
+    }
+
+    private static boolean sameValue(BigDecimal a, BigDecimal b) {
+        return a == null ? b == null : b != null && a.compareTo(b) == 0;
+    }
+
+    /**
+     * 数值是否能存入 DECIMAL(precision, scale) 列
+     */
+    private static boolean fitsPrecision(BigDecimal value, int precision, int scale) {
+        return value.precision() - value.scale() <= precision - scale;
+    }
+
+    private static Map<String, Integer> parseHeader(String header) {
+        String[] names = header.split(",", -1);
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < names.length; i++) {
+            String name = unquote(names[i]).replaceAll("([a-z])([A-Z])", "$1_$2").toLowerCase();
+            columns.put(name, i);
+        }
+        return columns;
+    }
+
+    private static NavRecord parseCsvLine(String line, Map<String, Integer> columns) {
+        String[] cells = line.split(",", -1);
+        NavRecord record = new NavRecord();
+        record.setFundCode(cell(cells, columns, "fund_code"));
+        record.setNav(decimal(cell(cells, columns, "nav")));
+        record.setCumulativeNav(decimal(cell(cells, columns, "cumulative_nav")));
+        String navDate = cell(cells, columns, "nav_date");
+        record.setNavDate(navDate != null ? LocalDate.parse(navDate) : null);
+        record.setDailyGrowthRate(decimal(cell(cells, columns, "daily_growth_rate")));
+        return record;
+    }
+
+    private static String cell(String[] cells, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= cells.length) {
+            return null;
+        }
+        String value = unquote(cells[index]);
+        return value.isEmpty() ? null : value;
+    }
+
+    private static BigDecimal decimal(String value) {
+        return value != null ? new BigDecimal(value) : null;
+    }
+
+    private static String unquote(String value) {
+        String trimmed = value.trim();
+        if (trimmed.length() >= 2 && trimmed.startsWith("\"") && trimmed.endsWith("\"")) {
+            return trimmed.substring(1, trimmed.length() - 1).trim();
+        }
+        return trimmed;
+    }
+
+    /**
+     * 记录来源（CSV或JSON读取器）
+     */
+    @FunctionalInterface
+    private interface RecordSource {
+        void read(ImportSession session) throws IOException;
+    }
+
+    /**
+     * 单次导入的状态：校验、按批次缓冲并写入、统计
+     * 每条记录恰好计入 accepted、rejected、duplicate 之一，total 为三者之和
+     */
+    private final class ImportSession {
+
+        private final FundCatalog catalog;
+        private final long startNanos = System.nanoTime();
+
+        /**
+         * 当前批次（同一基金保留净值日期最新的一条）
+         */
+        private final Map<String, NavRecord> buffer = new LinkedHashMap<>();
+        private final Set<String> updatedCodes = new HashSet<>();
+        private final List<String> errors = new ArrayList<>();
+
+        private long total;
+        private long accepted;
+        private long rejected;
+        private long duplicates;
+        private long unchanged;
+        private int batches;
+
+        private ImportSession(FundCatalog catalog) {
+            this.catalog = catalog;
+        }
+
+        private void accept(NavRecord record, String position) {
+            total++;
+            String error = validate(record, catalog);
+            if (error != null) {
+                reject(position + ": " + error);
+                return;
+            }
+
+            NavRecord existing = buffer.get(record.getFundCode());
+            if (existing != null) {
+                // 同一批次中同一基金只写入净值日期最新的一条，被替换或被忽略的一条计为重复
+                duplicates++;
+                duplicateCounter.increment();
+                if (record.getNavDate().isBefore(existing.getNavDate())) {
+                    return;
+                }
+            }
+            buffer.put(record.getFundCode(), record);
+            if (buffer.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        /**
+         * 本次导入的统计报告
+         *
+         * @param failure 中途失败的原因，完整导入时为null
+         */
+        private NavImportReport report(String failure) {
+            long durationMs = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+            return NavImportReport.builder()
+                    .completed(failure == null)
+                    .failure(failure)
+                    .totalRecords(total)
+                    .acceptedRecords(accepted)
+                    .rejectedRecords(rejected)
+                    .duplicateRecords(duplicates)
+                    .unchangedRecords(unchanged)
+                    .batches(batches)
+                    .durationMs(durationMs)
+                    .recordsPerSecond(accepted * 1000 / durationMs)
+                    .errors(errors)
+                    .build();
+        }
+
+        private void malformed(String error) {
+            total++;
+            reject(error);
+        }
+
+        private void reject(String error) {
+            rejected++;
+            rejectedCounter.increment();
+            if (errors.size() < MAX_ERRORS) {
+                errors.add(error);
+            }
+        }
+
+        private void flush() {
+            if (buffer.isEmpty()) {
+                return;
+            }
+
+            List<NavRecord> records = new ArrayList<>(buffer.values());
+            buffer.clear();
+            writeBatch(records, catalog);
+
+            batches++;
+            accepted += records.size();
+            acceptedCounter.increment(records.size());
+            for (NavRecord record : records) {
+                if (changesNav(record, catalog.findByCode(record.getFundCode()))) {
+                    updatedCodes.add(record.getFundCode());
+                } else {
+                    unchanged++;
+                }
+            }
+
+            if (batches % 10 == 0) {
+                long elapsedMs = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+                log.info("净值导入进度: batches={}, accepted={}, rejected={}, {}条/秒",
+                        batches, accepted, rejected, accepted * 1000 / elapsedMs);
+            }
+        }
+    }
+
+    /**
+     * 导入中途失败，失败前已写入的批次已提交
+     * {@link #getReport()} 为失败时的统计，原始异常见 {@link #getCause()}
+     */
+    public static class PartialImportException extends RuntimeException {
+
+        private final NavImportReport report;
+
+        public PartialImportException(NavImportReport report, Throwable cause) {
+            super("净值导入中断，已写入" + report.getAcceptedRecords() + "条: " + cause.getMessage(), cause);
+            this.report = report;
+        }
+
+        public NavImportReport getReport() {
+            return report;
+        }
+    }
+}
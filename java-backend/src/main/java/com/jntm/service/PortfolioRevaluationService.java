@@ -0,0 +1,428 @@
+package com.jntm.service;
+
+import com.jntm.catalog.FundCatalog;
+import com.jntm.dto.FundDTO;
+import com.jntm.event.NavUpdatedEvent;
+import com.jntm.event.PortfolioRevaluedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 持仓重估服务
+ * 基金净值更新后重新计算受影响持仓的当前市值、当前盈亏和收益率并写回user_funds表
+ *
+ * 处理流程：
+ * <ol>
+ *     <li>按基金代码（走idx_fund_code索引）读取持有中的持仓，只取计算所需的列，装入原始类型数组</li>
+ *     <li>以定点整数批量计算（份额、净值4位小数，金额分），溢出时回退BigDecimal</li>
+ *     <li>跳过数值未变化的持仓，其余按用户ID哈希分区并行写回；同一用户的持仓在同一事务中批量更新</li>
+ *     <li>写回以读取时的份额和成本为条件（乐观并发），期间被其他写入修改过的持仓不覆盖，
+ *         其所属基金重新读取计算，最多重试 {@value #MAX_ATTEMPTS} 轮</li>
+ * </ol>
+ *
+ * @author JNTM Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+public class PortfolioRevaluationService {
+
+    private static final String SELECT_HOLDINGS_SQL =
+            "SELECT id, user_id, shares, cost_amount, current_value, current_profit_loss, return_rate " +
+            "FROM user_funds WHERE fund_code = ? AND status IN ('HOLDING', 'PARTIAL_SOLD')";
+
+    private static final String UPDATE_HOLDING_SQL =
+            "UPDATE user_funds SET current_value = ?, current_profit_loss = ?, return_rate = ?, updated_at = ? " +
+            "WHERE id = ? AND shares = ? AND cost_amount = ?";
+
+    /**
+     * 持仓被并发修改时的最大计算轮数
+     */
+    private static final int MAX_ATTEMPTS = 3;
+
+    /**
+     * 收益率为空的标记
+     */
+    private static final long NULL = Long.MIN_VALUE;
+
+    /**
+     * return_rate 列 DECIMAL(8,4) 的上限（放大10^4）
+     */
+    private static final long MAX_RETURN_RATE = 99_999_999L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final FundService fundService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Timer revaluationTimer;
+    private final Counter updatedCounter;
+    private final Counter staleCounter;
+
+    private final ExecutorService writers;
+
+    @Value("${jntm.revaluation.batch-size:2000}")
+    private int batchSize;
+
+    private final int parallelism;
+
+    public PortfolioRevaluationService(JdbcTemplate jdbcTemplate,
+                                       TransactionTemplate transactionTemplate,
+                                       FundService fundService,
+                                       ApplicationEventPublisher eventPublisher,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${jntm.revaluation.parallelism:4}") int parallelism) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.fundService = fundService;
+        this.eventPublisher = eventPublisher;
+        this.revaluationTimer = meterRegistry.timer("jntm.portfolio.revaluation");
+        this.updatedCounter = meterRegistry.counter("jntm.portfolio.revaluation.holdings");
+        this.staleCounter = meterRegistry.counter("jntm.portfolio.revaluation.stale");
+        this.parallelism = Math.max(1, parallelism);
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.writers = Executors.newFixedThreadPool(this.parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "revaluation-writer-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writers.shutdown();
+    }
+
+    /**
+     * 净值更新后异步重估
+     */
+    @Async
+    @EventListener
+    public void onNavUpdated(NavUpdatedEvent event) {
+        try {
+            revalue(event.getFundCodes());
+        } catch (Exception ex) {
+            log.error("持仓重估失败: funds={}, error={}", event.getFundCodes().size(), ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * 重估持有指定基金的全部持仓
+     *
+     * @param fundCodes 净值发生变化的基金代码
+     * @return 实际更新的持仓数
+     */
+    public int revalue(Collection<String> fundCodes) {
+        long start = System.nanoTime();
+        FundCatalog catalog = fundService.getCatalog();
+        Set<Long> userIds = new HashSet<>();
+        int loaded = 0;
+        int updated = 0;
+
+        Collection<String> pending = fundCodes;
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS && !pending.isEmpty(); attempt++) {
+            Holdings holdings = load(catalog, pending);
+            holdings.compute();
+            int[] changed = holdings.changedIndexesSortedByUser();
+            List<Integer> stale = write(holdings, changed);
+
+            loaded += holdings.size;
+            updated += changed.length - stale.size();
+            Set<Integer> staleIndexes = new HashSet<>(stale);
+            for (int index : changed) {
+                if (!staleIndexes.contains(index)) {
+                    userIds.add(holdings.userIds[index]);
+                }
+            }
+
+            Set<String> staleFunds = new HashSet<>();
+            for (int index : stale) {
+                staleFunds.add(holdings.fundCodes[index]);
+            }
+            if (!stale.isEmpty()) {
+                staleCounter.increment(stale.size());
+                log.info("持仓在重估期间被修改，重新计算: holdings={}, funds={}, attempt={}",
+                        stale.size(), staleFunds.size(), attempt);
+                if (attempt == MAX_ATTEMPTS) {
+                    log.warn("持仓重估重试次数已用尽，放弃更新: holdings={}", stale.size());
+                }
+            }
+            pending = staleFunds;
+        }
+
+        long elapsed = System.nanoTime() - start;
+        revaluationTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        updatedCounter.increment(updated);
+        log.info("持仓重估完成: funds={}, holdings={}, updated={}, users={}, 耗时={}ms",
+                fundCodes.size(), loaded, updated, userIds.size(), elapsed / 1_000_000);
+
+        if (!userIds.isEmpty()) {
+            eventPublisher.publishEvent(new PortfolioRevaluedEvent(this, Collections.unmodifiableSet(userIds)));
+        }
+        return updated;
+    }
+
+    /**
+     * 读取持有指定基金的持仓
+     */
+    private Holdings load(FundCatalog catalog, Collection<String> fundCodes) {
+        Holdings holdings = new Holdings();
+        for (String fundCode : fundCodes) {
+            FundDTO fund = catalog.findByCode(fundCode);
+            if (fund == null || fund.getNav() == null) {
+                continue;
+            }
+            long nav = scaled(fund.getNav(), 4);
+            jdbcTemplate.query(SELECT_HOLDINGS_SQL, rs -> {
+                holdings.add(rs.getLong("id"), rs.getLong("user_id"), fundCode,
+                        scaled(rs.getBigDecimal("shares"), 4),
+                        scaled(rs.getBigDecimal("cost_amount"), 2),
+                        nav,
+                        scaledOrNull(rs.getBigDecimal("current_value"), 2),
+                        scaledOrNull(rs.getBigDecimal("current_profit_loss"), 2),
+                        scaledOrNull(rs.getBigDecimal("return_rate"), 4));
+            }, fundCode);
+        }
+        return holdings;
+    }
+
+    /**
+     * 按用户ID哈希分区并行写回
+     *
+     * @return 因份额或成本已被修改而未写入的持仓下标
+     */
+    private List<Integer> write(Holdings holdings, int[] changed) {
+        List<List<Integer>> partitions = new ArrayList<>(parallelism);
+        for (int p = 0; p < parallelism; p++) {
+            partitions.add(new ArrayList<>());
+        }
+        for (int index : changed) {
+            long userId = holdings.userIds[index];
+            partitions.get((int) Math.floorMod(userId, (long) parallelism)).add(index);
+        }
+
+        List<Future<List<Integer>>> futures = new ArrayList<>(parallelism);
+        for (List<Integer> partition : partitions) {
+            if (!partition.isEmpty()) {
+                futures.add(writers.submit(() -> writePartition(holdings, partition)));
+            }
+        }
+        List<Integer> stale = new ArrayList<>();
+        for (Future<List<Integer>> future : futures) {
+            try {
+                stale.addAll(future.get());
+            } catch (Exception ex) {
+                throw new RuntimeException("持仓重估写入失败", ex);
+            }
+        }
+        return stale;
+    }
+
+    /**
+     * 写入一个分区：按用户边界切分批次，每批一个事务，同一用户的持仓不会被拆到两个批次
+     *
+     * @return 未匹配到读取时份额和成本的持仓下标
+     */
+    private List<Integer> writePartition(Holdings holdings, List<Integer> partition) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Integer> stale = new ArrayList<>();
+        int from = 0;
+        while (from < partition.size()) {
+            int to = Math.min(from + batchSize, partition.size());
+            while (to < partition.size()
+                    && holdings.userIds[partition.get(to)] == holdings.userIds[partition.get(to - 1)]) {
+                to++;
+            }
+
+            List<Object[]> args = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                int index = partition.get(i);
+                args.add(new Object[]{
+                        BigDecimal.valueOf(holdings.newValue[index], 2),
+                        BigDecimal.valueOf(holdings.newProfitLoss[index], 2),
+                        holdings.newReturnRate[index] == NULL ? null : BigDecimal.valueOf(holdings.newReturnRate[index], 4),
+                        now,
+                        holdings.ids[index],
+                        BigDecimal.valueOf(holdings.shares[index], 4),
+                        BigDecimal.valueOf(holdings.costs[index], 2)
+                });
+            }
+            int[] counts = transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(UPDATE_HOLDING_SQL, args));
+            for (int i = 0; counts != null && i < counts.length; i++) {
+                // 驱动未返回行数（SUCCESS_NO_INFO）时按已写入处理
+                if (counts[i] == 0) {
+                    stale.add(partition.get(from + i));
+                }
+            }
+            from = to;
+        }
+        return stale;
+    }
+
+    private static long scaled(BigDecimal value, int scale) {
+        return value == null ? 0L : value.setScale(scale, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private static long scaledOrNull(BigDecimal value, int scale) {
+        return value == null ? NULL : scaled(value, scale);
+    }
+
+    /**
+     * 四舍五入的整数除法（除数为正）
+     */
+    private static long roundDiv(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        if (Math.abs(remainder) * 2 >= divisor) {
+            quotient += dividend < 0 ? -1 : 1;
+        }
+        return quotient;
+    }
+
+    /**
+     * 当前市值（分）= 份额(10^-4) × 净值(10^-4) / 10^6
+     */
+    static long currentValueCents(long shares, long nav) {
+        try {
+            return roundDiv(Math.multiplyExact(shares, nav), 1_000_000L);
+        } catch (ArithmeticException ex) {
+            return BigDecimal.valueOf(shares, 4).multiply(BigDecimal.valueOf(nav, 4))
+                    .setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+        }
+    }
+
+    /**
+     * 收益率（%，放大10^4）= 盈亏 / 成本 × 100，成本为0时为空
+     */
+    static long returnRate(long profitLossCents, long costCents) {
+        if (costCents <= 0) {
+            return NULL;
+        }
+        long rate;
+        try {
+            rate = roundDiv(Math.multiplyExact(profitLossCents, 1_000_000L), costCents);
+        } catch (ArithmeticException ex) {
+            // 先在BigDecimal上截断到列范围再转long，避免超出long时回绕
+            rate = BigDecimal.valueOf(profitLossCents).multiply(BigDecimal.valueOf(1_000_000L))
+                    .divide(BigDecimal.valueOf(costCents), 0, RoundingMode.HALF_UP)
+                    .max(BigDecimal.valueOf(-MAX_RETURN_RATE))
+                    .min(BigDecimal.valueOf(MAX_RETURN_RATE))
+                    .longValueExact();
+        }
+        return Math.max(-MAX_RETURN_RATE, Math.min(MAX_RETURN_RATE, rate));
+    }
+
+    /**
+     * 待重估持仓（列式原始类型数组）
+     */
+    private static final class Holdings {
+
+        private int size;
+        private long[] ids = new long[1024];
+        private long[] userIds = new long[1024];
+        private String[] fundCodes = new String[1024];
+        private long[] shares = new long[1024];
+        private long[] costs = new long[1024];
+        private long[] navs = new long[1024];
+        private long[] oldValue = new long[1024];
+        private long[] oldProfitLoss = new long[1024];
+        private long[] oldReturnRate = new long[1024];
+
+        private long[] newValue;
+        private long[] newProfitLoss;
+        private long[] newReturnRate;
+
+        private void add(long id, long userId, String fundCode, long share, long cost, long nav,
+                         long value, long profitLoss, long returnRate) {
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                userIds = Arrays.copyOf(userIds, capacity);
+                fundCodes = Arrays.copyOf(fundCodes, capacity);
+                shares = Arrays.copyOf(shares, capacity);
+                costs = Arrays.copyOf(costs, capacity);
+                navs = Arrays.copyOf(navs, capacity);
+                oldValue = Arrays.copyOf(oldValue, capacity);
+                oldProfitLoss = Arrays.copyOf(oldProfitLoss, capacity);
+                oldReturnRate = Arrays.copyOf(oldReturnRate, capacity);
+            }
+            ids[size] = id;
+            userIds[size] = userId;
+            fundCodes[size] = fundCode;
+            shares[size] = share;
+            costs[size] = cost;
+            navs[size] = nav;
+            oldValue[size] = value;
+            oldProfitLoss[size] = profitLoss;
+            oldReturnRate[size] = returnRate;
+            size++;
+        }
+
+        /**
+         * 逐列计算新值
+         */
+        private void compute() {
+            newValue = new long[size];
+            newProfitLoss = new long[size];
+            newReturnRate = new long[size];
+            for (int i = 0; i < size; i++) {
+                newValue[i] = currentValueCents(shares[i], navs[i]);
+            }
+            for (int i = 0; i < size; i++) {
+                newProfitLoss[i] = newValue[i] - costs[i];
+            }
+            for (int i = 0; i < size; i++) {
+                newReturnRate[i] = returnRate(newProfitLoss[i], costs[i]);
+            }
+        }
+
+        /**
+         * 数值发生变化的持仓下标，按用户ID、持仓ID排序
+         */
+        private int[] changedIndexesSortedByUser() {
+            int n = 0;
+            long[][] keys = new long[size][];
+            for (int i = 0; i < size; i++) {
+                if (newValue[i] != oldValue[i] || newProfitLoss[i] != oldProfitLoss[i]
+                        || newReturnRate[i] != oldReturnRate[i]) {
+                    keys[n++] = new long[]{userIds[i], ids[i], i};
+                }
+            }
+            Arrays.sort(keys, 0, n, (a, b) -> a[0] != b[0] ? Long.compare(a[0], b[0]) : Long.compare(a[1], b[1]));
+
+            int[] result = new int[n];
+            for (int i = 0; i < n; i++) {
+                result[i] = (int) keys[i][2];
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package com.jntm.service;
+
+import com.jntm.cache.CacheNames;
+import com.jntm.cache.PortfolioCacheInvalidator;
+import com.jntm.catalog.FundCatalog;
+import com.jntm.dto.CursorPage;
+import com.jntm.dto.FundDTO;
+import com.jntm.dto.PageCursor;
+import com.jntm.dto.PortfolioDistributionDTO;
+import com.jntm.dto.PortfolioSnapshot;
+import com.jntm.dto.PortfolioSummaryDTO;
+import com.jntm.dto.UserFundDTO;
+import com.jntm.entity.UserFund;
+import com.jntm.repository.UserFundRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 用户持仓业务服务类
+ * 提供持仓汇总、分布等投资组合相关的业务逻辑处理
+ *
+ * 持仓视图均由按用户缓存的 {@link PortfolioSnapshot} 提供：未命中时一次查询读取用户全部持有中的持仓，
+ * 基金名称/类型/公司从内存基金目录解析，汇总、分布和排行在内存中计算；
+ * 快照由 {@link PortfolioCacheInvalidator} 在持仓写入或净值重估时按用户失效。
+ * 只需汇总或分布且快照未缓存时，改用按基金代码的分组聚合查询，不读取持仓明细
+ *
+ * @author JNTM Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class PortfolioService {
+
+    /**
+     * 基金类型/公司缺失时的分组名称
+     */
+    static final String UNKNOWN_GROUP = "UNKNOWN";
+
+    /**
+     * 快照中各排行列表的长度
+     */
+    private static final int TOP_SIZE = 5;
+
+    /**
+     * 持仓游标排序类型（ID升序）
+     */
+    private static final String HOLDING_CURSOR_TYPE = "h1";
+
+    private static final Comparator<UserFundDTO> BY_VALUE_DESC = Comparator.comparing(
+            UserFundDTO::getCurrentValue, Comparator.nullsLast(Comparator.reverseOrder()));
+
+    private static final Comparator<UserFundDTO> BY_RETURN_DESC = Comparator.comparing(
+            UserFundDTO::getReturnRate, Comparator.reverseOrder());
+
+    private final UserFundRepository userFundRepository;
+    private final FundService fundService;
+    private final CacheManager cacheManager;
+
+    /**
+     * 获取用户持仓快照（未命中时构建并写入缓存）
+     */
+    public PortfolioSnapshot getSnapshot(Long userId) {
+        Cache cache = cacheManager.getCache(CacheNames.PORTFOLIO_SNAPSHOT);
+        if (cache == null) {
+            return buildSnapshot(userId);
+        }
+        return cache.get(PortfolioCacheInvalidator.snapshotKey(userId), () -> buildSnapshot(userId));
+    }
+
+    /**
+     * 获取用户持仓汇总
+     * 快照已缓存时直接复用；否则由一次按基金代码的分组查询在内存中折叠出总额和两种分布
+     */
+    public PortfolioSummaryDTO getSummary(Long userId) {
+        PortfolioSnapshot snapshot = cachedSnapshot(userId);
+        if (snapshot != null) {
+            return snapshot.getSummary();
+        }
+
+        log.debug("查询持仓汇总: userId={}", userId);
+        FundCatalog catalog = fundService.getCatalog();
+        SummaryAccumulator summary = new SummaryAccumulator();
+        for (UserFundRepository.HoldingGroupView group : userFundRepository.summarizeHoldingsByFundCode(userId)) {
+            summary.add(catalog.findByCode(group.getFundCode()), group.getTotalValue(), group.getTotalCost(),
+                    group.getTotalProfitLoss(), group.getHoldingCount() != null ? group.getHoldingCount() : 0L);
+        }
+        return summary.build(userId);
+    }
+
+    /**
+     * 游标分页查询用户持仓（全部状态，按ID升序）
+     */
+    public CursorPage<UserFundDTO> getHoldings(Long userId, String cursor, int size) {
+        long afterId = 0L;
+        String[] keys = PageCursor.decode(cursor, HOLDING_CURSOR_TYPE, 1);
+        if (keys != null) {
+            try {
+                afterId = Long.parseLong(keys[0]);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("无效的分页游标");
+            }
+        }
+
+        // 多取一条判断是否还有下一页
+        List<UserFund> rows = userFundRepository.findByUserIdAndIdGreaterThanOrderByIdAsc(
+                userId, afterId, PageRequest.of(0, size + 1));
+        boolean hasNext = rows.size() > size;
+        int count = Math.min(size, rows.size());
+
+        FundCatalog catalog = fundService.getCatalog();
+        List<UserFundDTO> content = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            UserFund row = rows.get(i);
+            FundDTO fund = catalog.findByCode(row.getFundCode());
+            content.add(UserFundDTO.fromEntityWithFundName(row, fund != null ? fund.getFundName() : null));
+        }
+
+        String nextCursor = hasNext ? PageCursor.encode(HOLDING_CURSOR_TYPE, rows.get(count - 1).getId()) : null;
+        return new CursorPage<>(content, nextCursor, hasNext, size, null);
+    }
+
+    /**
+     * 获取用户持仓分布
+     * 与持仓汇总同源：快照已缓存时直接复用，否则取自同一次按基金代码的分组查询
+     */
+    public PortfolioDistributionDTO getDistribution(Long userId) {
+        PortfolioSummaryDTO summary = getSummary(userId);
+        return PortfolioDistributionDTO.builder()
+                .userId(userId)
+                .totalValue(summary.getTotalValue())
+                .byType(summary.getDistributionByType())
+                .byCompany(summary.getDistributionByCompany())
+                .build();
+    }
+
+    /**
+     * 构建用户持仓快照
+     */
+    PortfolioSnapshot buildSnapshot(Long userId) {
+        log.debug("构建持仓快照: userId={}", userId);
+
+        List<UserFund> rows = userFundRepository.findByUserIdAndStatus(userId, UserFund.HoldingStatus.HOLDING);
+        FundCatalog catalog = fundService.getCatalog();
+
+        SummaryAccumulator summary = new SummaryAccumulator();
+        List<UserFundDTO> holdings = new ArrayList<>(rows.size());
+
+        for (UserFund row : rows) {
+            FundDTO fund = catalog.findByCode(row.getFundCode());
+            holdings.add(UserFundDTO.fromEntityWithFundName(row, fund != null ? fund.getFundName() : null));
+            summary.add(fund, row.getCurrentValue(), row.getCostAmount(), row.getCurrentProfitLoss(), 1L);
+        }
+
+        holdings.sort(BY_VALUE_DESC);
+        List<UserFundDTO> withReturn = holdings.stream()
+                .filter(holding -> holding.getReturnRate() != null)
+                .sorted(BY_RETURN_DESC)
+                .toList();
+
+        return PortfolioSnapshot.builder()
+                .userId(userId)
+                .summary(summary.build(userId))
+                .holdings(holdings)
+                .topHoldings(new ArrayList<>(holdings.subList(0, Math.min(TOP_SIZE, holdings.size()))))
+                .bestPerforming(new ArrayList<>(withReturn.subList(0, Math.min(TOP_SIZE, withReturn.size()))))
+                .worstPerforming(worst(withReturn))
+                .builtAt(LocalDateTime.now())
+                .build();
+    }
+
+    /**
+     * 已缓存的持仓快照，未缓存时返回null（不触发构建）
+     */
+    private PortfolioSnapshot cachedSnapshot(Long userId) {
+        Cache cache = cacheManager.getCache(CacheNames.PORTFOLIO_SNAPSHOT);
+        return cache != null ? cache.get(PortfolioCacheInvalidator.snapshotKey(userId), PortfolioSnapshot.class) : null;
+    }
+
+    /**
+     * 收益率最低的持仓（升序）
+     */
+    private static List<UserFundDTO> worst(List<UserFundDTO> sortedByReturnDesc) {
+        int n = Math.min(TOP_SIZE, sortedByReturnDesc.size());
+        List<UserFundDTO> worst = new ArrayList<>(n);
+        for (int i = sortedByReturnDesc.size() - 1; i >= sortedByReturnDesc.size() - n; i--) {
+            worst.add(sortedByReturnDesc.get(i));
+        }
+        return worst;
+    }
+
+    private static String typeOf(FundDTO fund) {
+        return fund != null && fund.getFundType() != null ? fund.getFundType().name() : UNKNOWN_GROUP;
+    }
+
+    private static String companyOf(FundDTO fund) {
+        return fund != null && fund.getFundCompany() != null ? fund.getFundCompany() : UNKNOWN_GROUP;
+    }
+
+    private static BigDecimal nullToZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+
+    /**
+     * 收益率（%），成本为0时返回null
+     */
+    static BigDecimal returnRate(BigDecimal profitLoss, BigDecimal cost) {
+        if (cost == null || cost.signum() == 0) {
+            return null;
+        }
+        return profitLoss.multiply(BigDecimal.valueOf(100)).divide(cost, 4, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * 分组市值转换为按市值降序的分布项
+     */
+    static List<PortfolioSummaryDTO.Allocation> toAllocations(Map<String, BigDecimal> values, BigDecimal total) {
+        List<PortfolioSummaryDTO.Allocation> allocations = new ArrayList<>(values.size());
+        values.forEach((name, value) -> allocations.add(new PortfolioSummaryDTO.Allocation(name, value,
+                total.signum() == 0 ? BigDecimal.ZERO
+                        : value.multiply(BigDecimal.valueOf(100)).divide(total, 2, RoundingMode.HALF_UP))));
+        allocations.sort((a, b) -> b.getValue().compareTo(a.getValue()));
+        return allocations;
+    }
+
+    /**
+     * 持仓汇总累加器
+     * 逐条持仓（快照）或逐个基金分组（聚合查询）累加总额，并按基金类型/公司归并市值
+     */
+    static final class SummaryAccumulator {
+
+        private BigDecimal totalValue = BigDecimal.ZERO;
+        private BigDecimal totalCost = BigDecimal.ZERO;
+        private BigDecimal totalProfitLoss = BigDecimal.ZERO;
+        private long holdingCount;
+        private final Map<String, BigDecimal> byType = new HashMap<>();
+        private final Map<String, BigDecimal> byCompany = new HashMap<>();
+
+        void add(FundDTO fund, BigDecimal value, BigDecimal cost, BigDecimal profitLoss, long count) {
+            BigDecimal currentValue = nullToZero(value);
+            totalValue = totalValue.add(currentValue);
+            totalCost = totalCost.add(nullToZero(cost));
+            totalProfitLoss = totalProfitLoss.add(nullToZero(profitLoss));
+            holdingCount += count;
+
+            byType.merge(typeOf(fund), currentValue, BigDecimal::add);
+            byCompany.merge(companyOf(fund), currentValue, BigDecimal::add);
+        }
+
+        PortfolioSummaryDTO build(Long userId) {
+            return PortfolioSummaryDTO.builder()
+                    .userId(userId)
+                    .totalValue(totalValue)
+                    .totalCost(totalCost)
+                    .totalProfitLoss(totalProfitLoss)
+                    .totalReturnRate(returnRate(totalProfitLoss, totalCost))
+                    .holdingCount(holdingCount)
+                    .distributionByType(toAllocations(byType, totalValue))
+                    .distributionByCompany(toAllocations(byCompany, totalValue))
+                    .build();
+        }
+    }
+}
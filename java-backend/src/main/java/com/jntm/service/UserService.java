@@ -1,23 +1,36 @@
 package com.jntm.service;
 
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.jntm.cache.CacheNames;
+import com.jntm.cache.UserCacheInvalidator;
+import com.jntm.dto.CursorPage;
+import com.jntm.dto.PageCursor;
 import com.jntm.dto.UserDTO;
+import com.jntm.dto.UserIdPage;
 import com.jntm.entity.User;
 import com.jntm.repository.UserRepository;
+import com.jntm.security.UserRevocationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 /**
  * 用户业务服务类
@@ -31,13 +44,23 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class UserService {
 
+    /**
+     * 用户游标排序类型（创建时间、ID倒序）
+     */
+    private static final String USER_CURSOR_TYPE = "u1";
+
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserRevocationService userRevocationService;
+    private final UserCacheInvalidator userCacheInvalidator;
+    private final CacheManager cacheManager;
+    private final UserStatisticsService userStatisticsService;
+    private final LoginActivityRecorder loginActivityRecorder;
 
     /**
      * 根据ID查找用户
      */
-    @Cacheable(value = "user", key = "#id")
+    @Cacheable(value = CacheNames.USER, key = "'id:' + #id", unless = "#result == null")
     public UserDTO findById(Long id) {
         log.debug("查找用户: ID={}", id);
 
@@ -53,7 +76,7 @@ public class UserService {
     /**
      * 根据用户名查找用户
      */
-    @Cacheable(value = "user", key = "#username")
+    @Cacheable(value = CacheNames.USER, key = "'username:' + #username", unless = "#result == null")
     public UserDTO findByUsername(String username) {
         log.debug("根据用户名查找用户: username={}", username);
 
@@ -69,6 +92,7 @@ public class UserService {
     /**
      * 根据邮箱查找用户
      */
+    @Cacheable(value = CacheNames.USER, key = "'email:' + #email", unless = "#result == null")
     public UserDTO findByEmail(String email) {
         log.debug("根据邮箱查找用户: email={}", email);
 
@@ -85,7 +109,6 @@ public class UserService {
      * 创建新用户（用于注册）
      */
     @Transactional
-    @CacheEvict(value = {"user", "userList"}, allEntries = true)
     public UserDTO createUser(UserDTO userDTO) {
         log.info("创建新用户: username={}, email={}", userDTO.getUsername(), userDTO.getEmail());
 
@@ -120,6 +143,9 @@ public class UserService {
         User savedUser = userRepository.save(user);
         log.info("用户创建成功: ID={}, username={}", savedUser.getId(), savedUser.getUsername());
 
+        // 新用户会改变列表查询结果
+        userCacheInvalidator.evictUserLists();
+
         return UserDTO.fromEntity(savedUser);
     }
 
@@ -127,7 +153,6 @@ public class UserService {
      * 更新用户信息
      */
     @Transactional
-    @CacheEvict(value = {"user", "userList"}, allEntries = true)
     public UserDTO updateUser(Long id, UserDTO userDTO) {
         log.info("更新用户信息: ID={}", id);
 
@@ -137,6 +162,7 @@ public class UserService {
         }
 
         User user = userOpt.get();
+        User.ThemeType oldTheme = user.getCurrentTheme();
 
         // 更新用户信息
         user.setNickname(userDTO.getNickname());
@@ -152,6 +178,12 @@ public class UserService {
         User updatedUser = userRepository.save(user);
         log.info("用户信息更新成功: ID={}", id);
 
+        // 只失效该用户；主题是列表筛选条件，变化时才失效列表
+        userCacheInvalidator.evictUser(updatedUser);
+        if (!Objects.equals(oldTheme, updatedUser.getCurrentTheme())) {
+            userCacheInvalidator.evictUserLists();
+        }
+
         return UserDTO.fromEntity(updatedUser);
     }
 
@@ -159,7 +191,6 @@ public class UserService {
      * 删除用户（软删除）
      */
     @Transactional
-    @CacheEvict(value = {"user", "userList"}, allEntries = true)
     public boolean deleteUser(Long id) {
         log.info("删除用户: ID={}", id);
 
@@ -173,31 +204,30 @@ public class UserService {
         user.setStatus(User.UserStatus.DELETED);
         userRepository.save(user);
 
+        // 已签发的访问Token携带ACTIVE状态声明，需立即吊销
+        userRevocationService.revokeUser(id);
+
+        // 状态是列表筛选条件
+        userCacheInvalidator.evictUser(user);
+        userCacheInvalidator.evictUserLists();
+
         log.info("用户删除成功: ID={}", id);
         return true;
     }
 
     /**
      * 更新用户最后登录信息
+     * 由 {@link LoginActivityRecorder} 合并后异步批量写入
      */
-    @Transactional
     public void updateLastLogin(Long userId, String loginIp) {
-        log.debug("更新用户最后登录信息: userId={}, loginIp={}", userId, loginIp);
-
-        Optional<User> userOpt = userRepository.findById(userId);
-        if (userOpt.isPresent()) {
-            User user = userOpt.get();
-            user.setLastLoginAt(LocalDateTime.now());
-            user.setLastLoginIp(loginIp);
-            userRepository.save(user);
-        }
+        log.debug("记录用户最后登录信息: userId={}, loginIp={}", userId, loginIp);
+        loginActivityRecorder.record(userId, loginIp);
     }
 
     /**
      * 切换用户主题
      */
     @Transactional
-    @CacheEvict(value = "user", key = "#userId")
     public boolean switchTheme(Long userId, User.ThemeType newTheme) {
         log.info("切换用户主题: userId={}, newTheme={}", userId, newTheme);
 
@@ -214,49 +244,159 @@ public class UserService {
 
         log.info("用户主题切换成功: userId={}, oldTheme={}, newTheme={}", userId, oldTheme, newTheme);
 
+        userCacheInvalidator.evictUser(user);
+        if (oldTheme != newTheme) {
+            userCacheInvalidator.evictUserLists();
+        }
+
         // TODO: 记录主题切换历史
         return true;
     }
 
     /**
      * 分页查询用户
+     * 列表缓存只保存ID页，用户详情从用户缓存批量读取，缺失部分一次性回源
      */
-    @Cacheable(value = "userList")
     public Page<UserDTO> findUsers(String username, String email, User.ThemeType theme,
                                    User.UserStatus status, Pageable pageable) {
         log.debug("分页查询用户: username={}, email={}, theme={}, status={}",
                  username, email, theme, status);
 
-        Page<User> userPage = userRepository.findUsersWithFilters(username, email, theme, status, pageable);
+        Cache listCache = cacheManager.getCache(CacheNames.USER_LIST);
+        Cache userCache = cacheManager.getCache(CacheNames.USER);
+        String listKey = userListKey(username, email, theme, status, pageable);
+
+        // 回源时顺带得到的用户实体，避免再次查询
+        Map<Long, UserDTO> loaded = new HashMap<>();
+        UserIdPage idPage = listCache.get(listKey, () -> {
+            Page<User> userPage = userRepository.findUsersWithFilters(username, email, theme, status, pageable);
+            List<Long> ids = new ArrayList<>(userPage.getNumberOfElements());
+            for (User user : userPage.getContent()) {
+                ids.add(user.getId());
+                loaded.put(user.getId(), UserDTO.fromEntity(user));
+            }
+            return new UserIdPage(ids, userPage.getTotalElements());
+        });
+
+        List<UserDTO> userDTOs = resolveUsers(idPage.getIds(), loaded, userCache);
+        return new PageImpl<>(userDTOs, pageable, idPage.getTotalElements());
+    }
+
+    /**
+     * 游标分页查询用户（按创建时间倒序）
+     * 按上一页末条记录的 (createdAt, id) 定位下一页，翻页成本与页码无关；总数仅在请求时统计，并随用户列表缓存失效
+     */
+    public CursorPage<UserDTO> findUsersByCursor(String username, String email, User.ThemeType theme,
+                                                 User.UserStatus status, String cursor, int size,
+                                                 boolean withTotal) {
+        log.debug("游标分页查询用户: username={}, email={}, theme={}, status={}, cursor={}",
+                 username, email, theme, status, cursor);
+
+        LocalDateTime afterCreatedAt = null;
+        Long afterId = null;
+        String[] keys = PageCursor.decode(cursor, USER_CURSOR_TYPE, 2);
+        if (keys != null) {
+            try {
+                afterCreatedAt = LocalDateTime.parse(keys[0]);
+                afterId = Long.valueOf(keys[1]);
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw new IllegalArgumentException("无效的分页游标");
+            }
+        }
 
-        List<UserDTO> userDTOs = userPage.getContent().stream()
-                .map(UserDTO::fromEntity)
-                .collect(Collectors.toList());
+        // 多取一条判断是否还有下一页
+        List<User> users = userRepository.findUsersWithFiltersAfter(username, email, theme, status,
+                afterCreatedAt, afterId, PageRequest.of(0, size + 1));
+        boolean hasNext = users.size() > size;
+        int count = Math.min(size, users.size());
+
+        List<UserDTO> content = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            content.add(UserDTO.fromEntity(users.get(i)));
+        }
+
+        String nextCursor = null;
+        if (hasNext) {
+            User last = users.get(count - 1);
+            nextCursor = PageCursor.encode(USER_CURSOR_TYPE, last.getCreatedAt(), last.getId());
+        }
+
+        Long total = null;
+        if (withTotal) {
+            Cache listCache = cacheManager.getCache(CacheNames.USER_LIST);
+            String countKey = "count|" + userFilterKey(username, email, theme, status);
+            Number cached = listCache.get(countKey,
+                    () -> userRepository.countUsersWithFilters(username, email, theme, status));
+            total = cached.longValue();
+        }
 
-        return new PageImpl<>(userDTOs, pageable, userPage.getTotalElements());
+        return new CursorPage<>(content, nextCursor, hasNext, size, total);
     }
 
     /**
-     * 获取用户统计信息
+     * 按ID列表解析用户详情，保持原有顺序
      */
-    public UserStatisticsDTO getUserStatistics() {
-        log.debug("获取用户统计信息");
+    private List<UserDTO> resolveUsers(List<Long> ids, Map<Long, UserDTO> loaded, Cache userCache) {
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            if (loaded.containsKey(id)) {
+                userCache.put(UserCacheInvalidator.idKey(id), loaded.get(id));
+                continue;
+            }
+            UserDTO cached = userCache.get(UserCacheInvalidator.idKey(id), UserDTO.class);
+            if (cached != null) {
+                loaded.put(id, cached);
+            } else {
+                missing.add(id);
+            }
+        }
 
-        long totalUsers = userRepository.count();
-        long activeUsers = userRepository.findByStatus(User.UserStatus.ACTIVE).size();
+        if (!missing.isEmpty()) {
+            for (User user : userRepository.findAllById(missing)) {
+                UserDTO dto = UserDTO.fromEntity(user);
+                loaded.put(user.getId(), dto);
+                userCache.put(UserCacheInvalidator.idKey(user.getId()), dto);
+            }
+        }
 
-        List<Object[]> themeStats = userRepository.countUsersByTheme();
-        List<Object[]> riskStats = userRepository.countUsersByRiskTolerance();
+        List<UserDTO> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            UserDTO dto = loaded.get(id);
+            if (dto != null) {
+                result.add(dto);
+            }
+        }
+        return result;
+    }
 
-        // 构建统计数据
-        UserStatisticsDTO statistics = new UserStatisticsDTO();
-        statistics.setTotalUsers(totalUsers);
-        statistics.setActiveUsers(activeUsers);
-        statistics.setInactiveUsers(totalUsers - activeUsers);
+    /**
+     * 用户筛选条件缓存键
+     */
+    private static String userFilterKey(String username, String email, User.ThemeType theme,
+                                        User.UserStatus status) {
+        return "username=" + username +
+               "|email=" + email +
+               "|theme=" + theme +
+               "|status=" + status;
+    }
 
-        // TODO: 处理主题和风险统计数据的转换
+    /**
+     * 用户列表缓存键
+     */
+    private static String userListKey(String username, String email, User.ThemeType theme,
+                                      User.UserStatus status, Pageable pageable) {
+        return userFilterKey(username, email, theme, status) +
+               "|page=" + pageable.getPageNumber() +
+               "|size=" + pageable.getPageSize() +
+               "|sort=" + pageable.getSort();
+    }
 
-        return statistics;
+    /**
+     * 获取用户统计信息
+     * 返回定时刷新的统计快照 {@link UserStatisticsService}
+     */
+    public UserStatisticsDTO getUserStatistics() {
+        return userStatisticsService.getStatistics();
     }
 
     /**
@@ -270,7 +410,6 @@ public class UserService {
      * 更新用户密码
      */
     @Transactional
-    @CacheEvict(value = "user", key = "#userId")
     public boolean updatePassword(Long userId, String newPassword) {
         log.info("更新用户密码: userId={}", userId);
 
@@ -284,6 +423,10 @@ public class UserService {
         user.setPasswordHash(passwordEncoder.encode(newPassword));
         userRepository.save(user);
 
+        // 修改密码后旧Token全部失效
+        userRevocationService.revokeUser(userId);
+        userCacheInvalidator.evictUser(user);
+
         log.info("用户密码更新成功: userId={}", userId);
         return true;
     }
@@ -312,17 +455,11 @@ public class UserService {
 
     /**
      * 更新用户最后登录时间
+     * 由 {@link LoginActivityRecorder} 合并后异步批量写入
      */
-    @Transactional
     public void updateLastLoginTime(Long userId) {
-        log.debug("更新用户最后登录时间: userId={}", userId);
-
-        Optional<User> userOpt = userRepository.findById(userId);
-        if (userOpt.isPresent()) {
-            User user = userOpt.get();
-            user.setLastLoginAt(LocalDateTime.now());
-            userRepository.save(user);
-        }
+        log.debug("记录用户最后登录时间: userId={}", userId);
+        loginActivityRecorder.record(userId, null);
     }
 
     /**
@@ -339,6 +476,11 @@ public class UserService {
         private Long totalUsers;
         private Long activeUsers;
         private Long inactiveUsers;
+        private Map<String, Long> usersByStatus;
+        private Map<String, Long> activeUsersByTheme;
+        private Map<String, Long> activeUsersByRiskTolerance;
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+        private LocalDateTime generatedAt;
 
         public Long getTotalUsers() { return totalUsers; }
         public void setTotalUsers(Long totalUsers) { this.totalUsers = totalUsers; }
@@ -348,7 +490,18 @@ public class UserService {
 
         public Long getInactiveUsers() { return inactiveUsers; }
         public void setInactiveUsers(Long inactiveUsers) { this.inactiveUsers = inactiveUsers; }
-        // 可以添加更多统计字段
+
+        public Map<String, Long> getUsersByStatus() { return usersByStatus; }
+        public void setUsersByStatus(Map<String, Long> usersByStatus) { this.usersByStatus = usersByStatus; }
+
+        public Map<String, Long> getActiveUsersByTheme() { return activeUsersByTheme; }
+        public void setActiveUsersByTheme(Map<String, Long> activeUsersByTheme) { this.activeUsersByTheme = activeUsersByTheme; }
+
+        public Map<String, Long> getActiveUsersByRiskTolerance() { return activeUsersByRiskTolerance; }
+        public void setActiveUsersByRiskTolerance(Map<String, Long> activeUsersByRiskTolerance) { this.activeUsersByRiskTolerance = activeUsersByRiskTolerance; }
+
+        public LocalDateTime getGeneratedAt() { return generatedAt; }
+        public void setGeneratedAt(LocalDateTime generatedAt) { this.generatedAt = generatedAt; }
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,122 @@
+package com.jntm.service;
+
+import com.jntm.entity.User;
+import com.jntm.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 用户统计服务类
+ * 一次分组查询得到按状态、主题、风险偏好的用户计数，汇总为统计快照后定时整体替换；
+ * 读取只返回当前快照，不访问数据库
+ *
+ * @author JNTM Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserStatisticsService {
+
+    private final UserRepository userRepository;
+
+    private volatile UserService.UserStatisticsDTO snapshot;
+
+    /**
+     * 应用启动完成后生成统计快照
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        try {
+            refresh();
+        } catch (Exception ex) {
+            log.error("启动时生成用户统计失败，等待下次定时刷新: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * 定时刷新统计快照
+     */
+    @Scheduled(initialDelayString = "${jntm.user-statistics.refresh-interval-ms:60000}",
+               fixedDelayString = "${jntm.user-statistics.refresh-interval-ms:60000}")
+    public void scheduledRefresh() {
+        try {
+            refresh();
+        } catch (Exception ex) {
+            log.error("定时刷新用户统计失败，继续使用旧快照: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * 获取用户统计快照，尚未生成时同步生成一次
+     */
+    public UserService.UserStatisticsDTO getStatistics() {
+        UserService.UserStatisticsDTO current = snapshot;
+        return current != null ? current : refresh();
+    }
+
+    /**
+     * 重新统计并替换当前快照
+     * 主题和风险偏好分布仅统计活跃用户
+     *
+     * @return 新快照
+     */
+    public synchronized UserService.UserStatisticsDTO refresh() {
+        long start = System.currentTimeMillis();
+
+        long totalUsers = 0;
+        Map<User.UserStatus, Long> byStatus = new EnumMap<>(User.UserStatus.class);
+        Map<User.ThemeType, Long> byTheme = new EnumMap<>(User.ThemeType.class);
+        Map<User.RiskTolerance, Long> byRiskTolerance = new EnumMap<>(User.RiskTolerance.class);
+
+        List<UserRepository.UserCountView> rows = userRepository.countUsersGrouped();
+        for (UserRepository.UserCountView row : rows) {
+            long count = row.getTotal();
+            totalUsers += count;
+            if (row.getStatus() != null) {
+                byStatus.merge(row.getStatus(), count, Long::sum);
+            }
+            if (row.getStatus() == User.UserStatus.ACTIVE) {
+                if (row.getTheme() != null) {
+                    byTheme.merge(row.getTheme(), count, Long::sum);
+                }
+                if (row.getRiskTolerance() != null) {
+                    byRiskTolerance.merge(row.getRiskTolerance(), count, Long::sum);
+                }
+            }
+        }
+
+        long activeUsers = byStatus.getOrDefault(User.UserStatus.ACTIVE, 0L);
+
+        UserService.UserStatisticsDTO statistics = new UserService.UserStatisticsDTO();
+        statistics.setTotalUsers(totalUsers);
+        statistics.setActiveUsers(activeUsers);
+        statistics.setInactiveUsers(totalUsers - activeUsers);
+        statistics.setUsersByStatus(toNamedCounts(byStatus));
+        statistics.setActiveUsersByTheme(toNamedCounts(byTheme));
+        statistics.setActiveUsersByRiskTolerance(toNamedCounts(byRiskTolerance));
+        statistics.setGeneratedAt(LocalDateTime.now());
+
+        snapshot = statistics;
+        log.debug("用户统计快照已刷新: totalUsers={}, groups={}, 耗时={}ms",
+                totalUsers, rows.size(), System.currentTimeMillis() - start);
+        return statistics;
+    }
+
+    private static <E extends Enum<E>> Map<String, Long> toNamedCounts(Map<E, Long> counts) {
+        Map<String, Long> named = new LinkedHashMap<>();
+        counts.forEach((key, value) -> named.put(key.name(), value));
+        return Collections.unmodifiableMap(named);
+    }
+}
@@ -1,12 +1,17 @@
 package com.jntm.utils;
 
+import com.jntm.security.JwtClaims;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SecurityException;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.Date;
 
 /**
@@ -38,11 +43,47 @@ public class JwtTokenUtil {
     @Value("${jwt.refresh-expiration:2592000000}")
     private Long refreshExpiration;
 
+    /**
+     * 签名密钥（启动时解析一次，线程安全可复用）
+     */
+    private SecretKey signingKey;
+
+    /**
+     * Token解析器（不可变，线程安全可复用）
+     */
+    private JwtParser jwtParser;
+
+    /**
+     * 初始化签名密钥和解析器
+     * 避免每次请求重复构建HMAC密钥和解析器
+     */
+    @PostConstruct
+    public void init() {
+        this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        this.jwtParser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+    }
+
     /**
      * 获取签名密钥
      */
     private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        return signingKey;
+    }
+
+    /**
+     * 获取访问Token有效期（毫秒）
+     */
+    public long getAccessTokenExpiration() {
+        return jwtExpiration;
+    }
+
+    /**
+     * 获取刷新Token有效期（毫秒）
+     */
+    public long getRefreshTokenExpiration() {
+        return refreshExpiration;
     }
 
     /**
@@ -53,13 +94,36 @@ public class JwtTokenUtil {
      * @return JWT Token
      */
     public String generateAccessToken(Long userId, String username) {
+        return generateAccessToken(userId, username, null, null);
+    }
+
+    /**
+     * 生成携带角色和状态声明的访问Token
+     * 认证过滤器可直接根据签名声明构建认证主体，无需查询数据库
+     *
+     * @param userId 用户ID
+     * @param username 用户名
+     * @param role 用户角色
+     * @param status 账户状态
+     * @return JWT Token
+     */
+    public String generateAccessToken(Long userId, String username, String role, String status) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpiration);
 
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
                 .setSubject(String.valueOf(userId))
                 .claim("username", username)
-                .claim("type", "access")
+                .claim("type", JwtClaims.TYPE_ACCESS)
+                .claim(JwtClaims.ISSUED_AT_MILLIS, now.getTime());
+        if (role != null) {
+            builder.claim("role", role);
+        }
+        if (status != null) {
+            builder.claim("status", status);
+        }
+
+        return builder
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
                 .signWith(getSigningKey(), SignatureAlgorithm.HS512)
@@ -80,7 +144,8 @@ public class JwtTokenUtil {
         return Jwts.builder()
                 .setSubject(String.valueOf(userId))
                 .claim("username", username)
-                .claim("type", "refresh")
+                .claim("type", JwtClaims.TYPE_REFRESH)
+                .claim(JwtClaims.ISSUED_AT_MILLIS, now.getTime())
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
                 .signWith(getSigningKey(), SignatureAlgorithm.HS512)
@@ -138,26 +203,28 @@ public class JwtTokenUtil {
      * @return Claims
      */
     private Claims getClaimsFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return jwtParser.parseSignedClaims(token).getPayload();
     }
 
     /**
-     * 验证Token是否有效
+     * 校验Token并提取声明
+     * 只做一次签名校验，返回不可变的声明视图
      *
      * @param token JWT Token
-     * @return 是否有效
+     * @return 声明视图，Token无效时返回null
      */
-    public boolean validateToken(String token) {
+    public JwtClaims verifyToken(String token) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
+            Claims claims = getClaimsFromToken(token);
+            return new JwtClaims(
+                    Long.parseLong(claims.getSubject()),
+                    claims.get("username", String.class),
+                    claims.get("type", String.class),
+                    claims.get("role", String.class),
+                    claims.get("status", String.class),
+                    issuedAt(claims),
+                    claims.getExpiration() != null ? claims.getExpiration().toInstant() : null
+            );
         } catch (SecurityException ex) {
             log.error("无效的JWT签名: {}", ex.getMessage());
         } catch (MalformedJwtException ex) {
@@ -166,10 +233,55 @@ public class JwtTokenUtil {
             log.error("JWT Token已过期: {}", ex.getMessage());
         } catch (UnsupportedJwtException ex) {
             log.error("不支持的JWT Token: {}", ex.getMessage());
+        } catch (JwtException ex) {
+            log.error("JWT Token校验失败: {}", ex.getMessage());
         } catch (IllegalArgumentException ex) {
             log.error("JWT Token参数异常: {}", ex.getMessage());
         }
-        return false;
+        return null;
+    }
+
+    /**
+     * 签发时间：优先使用毫秒精度声明，旧Token回退到整秒的 iat
+     */
+    private static Instant issuedAt(Claims claims) {
+        Long issuedAtMillis = claims.get(JwtClaims.ISSUED_AT_MILLIS, Long.class);
+        if (issuedAtMillis != null) {
+            return Instant.ofEpochMilli(issuedAtMillis);
+        }
+        return claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null;
+    }
+
+    /**
+     * 校验访问Token并提取声明
+     *
+     * @param token 访问Token
+     * @return 声明视图，Token无效或不是访问Token时返回null
+     */
+    public JwtClaims verifyAccessToken(String token) {
+        JwtClaims claims = verifyToken(token);
+        return claims != null && claims.isAccessToken() ? claims : null;
+    }
+
+    /**
+     * 校验刷新Token并提取声明
+     *
+     * @param token 刷新Token
+     * @return 声明视图，Token无效或不是刷新Token时返回null
+     */
+    public JwtClaims verifyRefreshToken(String token) {
+        JwtClaims claims = verifyToken(token);
+        return claims != null && claims.isRefreshToken() ? claims : null;
+    }
+
+    /**
+     * 验证Token是否有效
+     *
+     * @param token JWT Token
+     * @return 是否有效
+     */
+    public boolean validateToken(String token) {
+        return verifyToken(token) != null;
     }
 
     /**
@@ -194,7 +306,7 @@ public class JwtTokenUtil {
      * @return 是否有效
      */
     public boolean validateRefreshToken(String token) {
-        return validateToken(token) && "refresh".equals(getTokenType(token));
+        return verifyRefreshToken(token) != null;
     }
 
     /**
@@ -204,7 +316,7 @@ public class JwtTokenUtil {
      * @return 是否有效
      */
     public boolean validateAccessToken(String token) {
-        return validateToken(token) && "access".equals(getTokenType(token));
+        return verifyAccessToken(token) != null;
     }
 
     /**
@@ -214,14 +326,12 @@ public class JwtTokenUtil {
      * @return 新的访问Token
      */
     public String refreshAccessToken(String refreshToken) {
-        if (!validateRefreshToken(refreshToken)) {
+        JwtClaims claims = verifyRefreshToken(refreshToken);
+        if (claims == null) {
             throw new IllegalArgumentException("无效的刷新Token");
         }
 
-        Long userId = getUserIdFromToken(refreshToken);
-        String username = getUsernameFromToken(refreshToken);
-
-        return generateAccessToken(userId, username);
+        return generateAccessToken(claims.getUserId(), claims.getUsername());
     }
 
     /**
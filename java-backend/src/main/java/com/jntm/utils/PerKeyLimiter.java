@@ -0,0 +1,84 @@
+package com.jntm.utils;
+
+import reactor.core.publisher.Flux;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 按键限制并发数
+ * 每个键最多同时持有 maxPerKey 个名额，名额归零的键自动移除，不随键数量增长占用内存；
+ * 流式调用通过 {@link #limit} 在订阅时占用名额、在该次订阅结束时释放
+ *
+ * @param <K> 键类型
+ * @author JNTM Team
+ * @since 1.0.0
+ */
+public class PerKeyLimiter<K> {
+
+    private final int maxPerKey;
+
+    private final Map<K, Integer> active = new ConcurrentHashMap<>();
+
+    public PerKeyLimiter(int maxPerKey) {
+        this.maxPerKey = maxPerKey;
+    }
+
+    /**
+     * 尝试占用一个名额
+     *
+     * @return 是否占用成功，成功时调用方必须在结束后调用 {@link #release}
+     */
+    public boolean tryAcquire(K key) {
+        boolean[] acquired = {false};
+        active.compute(key, (k, count) -> {
+            int current = count != null ? count : 0;
+            if (current >= maxPerKey) {
+                return count;
+            }
+            acquired[0] = true;
+            return current + 1;
+        });
+        return acquired[0];
+    }
+
+    /**
+     * 释放一个名额
+     */
+    public void release(K key) {
+        active.computeIfPresent(key, (k, count) -> count <= 1 ? null : count - 1);
+    }
+
+    /**
+     * 为流加上并发限制
+     * 名额在订阅时占用，在该次订阅完成、失败或取消时释放；未被订阅的流不占用名额。
+     * 名额已满时该次订阅以 rejected 提供的异常结束
+     *
+     * @param key      限制键
+     * @param source   受限制的流
+     * @param rejected 名额已满时的异常
+     */
+    public <T> Flux<T> limit(K key, Flux<T> source, Supplier<? extends Throwable> rejected) {
+        return Flux.defer(() -> {
+            if (!tryAcquire(key)) {
+                return Flux.error(rejected.get());
+            }
+            return source.doFinally(signal -> release(key));
+        });
+    }
+
+    /**
+     * 该键当前占用的名额数
+     */
+    public int active(K key) {
+        return active.getOrDefault(key, 0);
+    }
+
+    /**
+     * 每个键的最大并发数
+     */
+    public int getMaxPerKey() {
+        return maxPerKey;
+    }
+}
@@ -0,0 +1,63 @@
+package com.jntm.utils;
+
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * 请求合并工具（single-flight）
+ * 同一键的调用在上游未结束前共享同一个 Mono，只触发一次上游请求；
+ * 上游结束（成功、失败或取消）时先移除该键再向订阅方发出结束信号，
+ * 之后（包括在结果回调中）的调用重新发起请求，不会加入已结束的请求
+ *
+ * @param <K> 键类型
+ * @param <V> 结果类型
+ * @author JNTM Team
+ * @since 1.0.0
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, Mono<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * 执行或加入同键的进行中请求
+     *
+     * @param key      请求键
+     * @param supplier 上游请求，仅在没有进行中的同键请求时订阅
+     */
+    public Mono<V> execute(K key, Supplier<Mono<V>> supplier) {
+        return Mono.defer(() -> {
+            Mono<V> existing = inFlight.get(key);
+            if (existing != null) {
+                return existing;
+            }
+
+            AtomicReference<Mono<V>> self = new AtomicReference<>();
+            Mono<V> flight = Mono.defer(supplier)
+                    .doOnTerminate(() -> inFlight.remove(key, self.get()))
+                    .doOnCancel(() -> inFlight.remove(key, self.get()))
+                    .share();
+            self.set(flight);
+
+            Mono<V> winner = inFlight.putIfAbsent(key, flight);
+            return winner != null ? winner : flight;
+        });
+    }
+
+    /**
+     * 是否有该键的进行中请求
+     */
+    public boolean isInFlight(K key) {
+        return inFlight.containsKey(key);
+    }
+
+    /**
+     * 进行中的请求数
+     */
+    public int size() {
+        return inFlight.size();
+    }
+}
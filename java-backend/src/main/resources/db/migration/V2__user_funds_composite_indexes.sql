@@ -0,0 +1,16 @@
+-- 用户持仓复合索引
+-- 持仓查询几乎都以 user_id + status = 'HOLDING' 过滤，并按市值/收益率排序或按买入日期范围查询。
+-- idx_purchase_date 没有不带 user_id 的查询使用，一并删除。
+-- 保留 idx_user_id：InnoDB 二级索引隐含主键，(user_id) 即 (user_id, id)，是按ID顺序读取单个用户持仓
+-- （游标分页 WHERE user_id = ? AND id > ? ORDER BY id）的唯一索引；唯一约束 (user_id, fund_code) 不提供该顺序。
+-- 在线执行（InnoDB 原地建索引，不阻塞读写）。
+
+ALTER TABLE user_funds
+    ADD INDEX idx_user_status_value (user_id, status, current_value),
+    ADD INDEX idx_user_status_return (user_id, status, return_rate),
+    ADD INDEX idx_user_purchase_date (user_id, purchase_date),
+    ALGORITHM = INPLACE, LOCK = NONE;
+
+ALTER TABLE user_funds
+    DROP INDEX idx_purchase_date,
+    ALGORITHM = INPLACE, LOCK = NONE;
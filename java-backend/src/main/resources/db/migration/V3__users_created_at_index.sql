@@ -0,0 +1,6 @@
+-- 用户创建时间索引
+-- 管理端用户列表按 (created_at, id) 倒序游标分页，InnoDB 二级索引自带主键，可直接按索引顺序定位下一页。
+
+ALTER TABLE users
+    ADD INDEX idx_created_at (created_at),
+    ALGORITHM = INPLACE, LOCK = NONE;
@@ -0,0 +1,6 @@
+-- 用户统计覆盖索引
+-- 用户统计按 (status, current_theme, risk_tolerance) 一次分组计数，覆盖索引使其只扫描索引不回表。
+
+ALTER TABLE users
+    ADD INDEX idx_status_theme_risk (status, current_theme, risk_tolerance),
+    ALGORITHM = INPLACE, LOCK = NONE;
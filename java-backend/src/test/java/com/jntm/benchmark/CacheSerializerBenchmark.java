@@ -0,0 +1,117 @@
+package com.jntm.benchmark;
+
+import com.jntm.cache.BinaryCacheSerializer;
+import com.jntm.cache.SmileCacheValueCodec;
+import com.jntm.dto.UserDTO;
+import com.jntm.entity.User;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 缓存值序列化性能基准测试
+ * 对比GenericJackson2JsonRedisSerializer与Smile+LZ4二进制序列化器的编解码耗时，
+ * 负载大小在初始化时打印
+ *
+ * 运行方式：执行 mvn test-compile 后，在IDE中运行main方法
+ *
+ * @author JNTM Team
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheSerializerBenchmark {
+
+    @Param({"single", "list"})
+    private String payload;
+
+    private GenericJackson2JsonRedisSerializer jsonSerializer;
+    private BinaryCacheSerializer binarySerializer;
+
+    private Object value;
+    private byte[] jsonBytes;
+    private byte[] binaryBytes;
+
+    @Setup
+    public void setUp() {
+        jsonSerializer = BinaryCacheSerializer.legacyJsonSerializer();
+        binarySerializer = new BinaryCacheSerializer(new SmileCacheValueCodec(), 1024);
+
+        if ("single".equals(payload)) {
+            value = sampleUser(1L);
+        } else {
+            List<UserDTO> users = new ArrayList<>();
+            for (long i = 1; i <= 50; i++) {
+                users.add(sampleUser(i));
+            }
+            value = users;
+        }
+
+        jsonBytes = jsonSerializer.serialize(value);
+        binaryBytes = binarySerializer.serialize(value);
+        System.out.printf("%n[%s] JSON: %d bytes, binary: %d bytes (%.1f%%)%n",
+                payload, jsonBytes.length, binaryBytes.length,
+                binaryBytes.length * 100.0 / jsonBytes.length);
+    }
+
+    @Benchmark
+    public byte[] jsonEncode() {
+        return jsonSerializer.serialize(value);
+    }
+
+    @Benchmark
+    public Object jsonDecode() {
+        return jsonSerializer.deserialize(jsonBytes);
+    }
+
+    @Benchmark
+    public byte[] binaryEncode() {
+        return binarySerializer.serialize(value);
+    }
+
+    @Benchmark
+    public Object binaryDecode() {
+        return binarySerializer.deserialize(binaryBytes);
+    }
+
+    private static UserDTO sampleUser(long id) {
+        UserDTO user = new UserDTO();
+        user.setId(id);
+        user.setUsername("user" + id);
+        user.setEmail("user" + id + "@jntm.com");
+        user.setPhone("1380013" + String.format("%04d", id));
+        user.setNickname("投资者" + id);
+        user.setAvatarUrl("https://cdn.jntm.com/avatar/" + id + ".png");
+        user.setCurrentTheme(User.ThemeType.FIRE);
+        user.setInvestmentGoal(new BigDecimal("1000000.00"));
+        user.setRiskTolerance(User.RiskTolerance.MODERATE);
+        user.setExpectedReturnRate(new BigDecimal("0.0800"));
+        user.setInvestmentHorizon(10);
+        user.setRole("USER");
+        user.setStatus(User.UserStatus.ACTIVE);
+        user.setEmailNotificationEnabled(Boolean.TRUE);
+        user.setLastLoginAt(LocalDateTime.of(2024, 1, 1, 9, 30));
+        user.setLastLoginIp("192.168.1." + (id % 255));
+        user.setCreatedAt(LocalDateTime.of(2023, 6, 1, 12, 0));
+        user.setUpdatedAt(LocalDateTime.of(2024, 1, 1, 9, 30));
+        return user;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CacheSerializerBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
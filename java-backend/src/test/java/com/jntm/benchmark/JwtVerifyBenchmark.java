@@ -0,0 +1,88 @@
+package com.jntm.benchmark;
+
+import com.jntm.security.JwtClaims;
+import com.jntm.utils.JwtTokenUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT校验性能基准测试
+ * 对比每次请求重建密钥/解析器并解析三次的旧路径，与缓存解析器单次解析的新路径
+ *
+ * 运行方式：执行 mvn test-compile 后，在IDE中运行main方法
+ *
+ * @author JNTM Team
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerifyBenchmark {
+
+    private static final String SECRET =
+            "JNTM-Benchmark-Secret-Key-For-JWT-Token-Generation-With-HS512-Length";
+
+    private JwtTokenUtil jwtTokenUtil;
+
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtTokenUtil = new JwtTokenUtil();
+        ReflectionTestUtils.setField(jwtTokenUtil, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtTokenUtil, "jwtExpiration", 3_600_000L);
+        ReflectionTestUtils.setField(jwtTokenUtil, "refreshExpiration", 7_200_000L);
+        jwtTokenUtil.init();
+
+        token = jwtTokenUtil.generateAccessToken(1L, "benchmark");
+    }
+
+    /**
+     * 旧路径：validateAccessToken解析两次，过滤器再解析一次取用户ID，每次都重建密钥和解析器
+     */
+    @Benchmark
+    public Long legacyVerify() {
+        parseLegacy(token);
+        if (!JwtClaims.TYPE_ACCESS.equals(parseLegacy(token).get("type", String.class))) {
+            return null;
+        }
+        return Long.parseLong(parseLegacy(token).getSubject());
+    }
+
+    /**
+     * 新路径：缓存的解析器，一次签名校验得到全部声明
+     */
+    @Benchmark
+    public Long cachedVerify() {
+        JwtClaims claims = jwtTokenUtil.verifyAccessToken(token);
+        return claims != null ? claims.getUserId() : null;
+    }
+
+    private Claims parseLegacy(String jwt) {
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        return Jwts.parser()
+                .verifyWith(key)
+                .build()
+                .parseSignedClaims(jwt)
+                .getPayload();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtVerifyBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,155 @@
+package com.jntm.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 二级缓存测试类
+ * 验证加载在Caffeine计算函数之外进行、同键并发加载合并，以及失效之后不回填旧值
+ *
+ * @author JNTM Team
+ * @since 1.0.0
+ */
+class TwoLevelCacheTest {
+
+    private com.github.benmanes.caffeine.cache.Cache<String, Object> localCache;
+    private HookedRemoteCache remoteCache;
+    private TwoLevelCache cache;
+
+    @BeforeEach
+    void setUp() {
+        localCache = Caffeine.newBuilder().build();
+        remoteCache = new HookedRemoteCache();
+        cache = new TwoLevelCache("test", localCache, remoteCache, mock(TwoLevelCacheManager.class));
+    }
+
+    @Test
+    void remoteHitIsCopiedToLocal() {
+        remoteCache.put("k", "v");
+
+        assertThat(cache.get("k").get()).isEqualTo("v");
+        assertThat(localCache.getIfPresent("k")).isEqualTo("v");
+    }
+
+    @Test
+    void loadedValueIsStoredInBothLevels() {
+        assertThat(cache.get("k", () -> "v")).isEqualTo("v");
+
+        assertThat(localCache.getIfPresent("k")).isEqualTo("v");
+        assertThat(remoteCache.get("k").get()).isEqualTo("v");
+        assertThat(cache.get("k", () -> "other")).isEqualTo("v");
+    }
+
+    @Test
+    void loaderMayTouchTheSameKey() {
+        // 加载器不在Caffeine计算函数中运行，可以失效同一个键；加载期间发生失效，结果不写入缓存
+        String value = cache.get("k", () -> {
+            cache.evict("k");
+            return "v";
+        });
+
+        assertThat(value).isEqualTo("v");
+        assertThat(localCache.getIfPresent("k")).isNull();
+        assertThat(remoteCache.get("k")).isNull();
+    }
+
+    @Test
+    void refillStartedBeforeEvictIsNotInstalled() {
+        remoteCache.put("k", "stale");
+        // 读取L2之后、回填L1之前收到其他节点的失效通知
+        remoteCache.afterGet = () -> cache.evictLocal("k");
+
+        assertThat(cache.get("k").get()).isEqualTo("stale");
+        assertThat(localCache.getIfPresent("k")).isNull();
+    }
+
+    @Test
+    void refillStartedBeforeClearIsNotInstalled() {
+        remoteCache.afterGet = cache::clearLocal;
+
+        cache.get("k", () -> "v");
+
+        assertThat(localCache.getIfPresent("k")).isNull();
+        assertThat(remoteCache.get("k")).isNull();
+    }
+
+    @Test
+    void concurrentMissesShareOneLoad() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<String> first = executor.submit(() -> cache.get("k", () -> {
+                loads.incrementAndGet();
+                started.countDown();
+                release.await(5, TimeUnit.SECONDS);
+                return "v";
+            }));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            Future<String> second = executor.submit(() -> cache.get("k", () -> {
+                loads.incrementAndGet();
+                return "other";
+            }));
+            // 第二个调用在加载完成前等待
+            Thread.sleep(100);
+            assertThat(second.isDone()).isFalse();
+
+            release.countDown();
+            assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("v");
+            assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("v");
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    void loaderFailureIsWrappedAndNotCached() {
+        assertThatThrownBy(() -> cache.get("k", () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(Cache.ValueRetrievalException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+
+        assertThat(cache.get("k", () -> "v")).isEqualTo("v");
+    }
+
+    /**
+     * 可在读取之后插入操作的L2，模拟读取与失效通知交错
+     */
+    private static final class HookedRemoteCache extends ConcurrentMapCache {
+
+        private Runnable afterGet;
+
+        private HookedRemoteCache() {
+            super("test");
+        }
+
+        @Override
+        public ValueWrapper get(Object key) {
+            ValueWrapper wrapper = super.get(key);
+            Runnable hook = afterGet;
+            if (hook != null) {
+                afterGet = null;
+                hook.run();
+            }
+            return wrapper;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.jntm.catalog;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 基金指标列存储测试类
+ * 验证定点数换算及超出范围时的截断
+ *
+ * @author JNTM Team
+ * @since 1.0.0
+ */
+class FundMetricsStoreTest {
+
+    @Test
+    void scalesAndRoundsToFourDecimals() {
+        assertThat(FundMetricsStore.toScaled(new BigDecimal("1.23456"))).isEqualTo(12346L);
+        assertThat(FundMetricsStore.toScaled(new BigDecimal("-0.5"))).isEqualTo(-5000L);
+        assertThat(FundMetricsStore.toScaled(null)).isEqualTo(FundMetricsStore.NULL);
+        assertThat(FundMetricsStore.fromScaled(12346L)).isEqualByComparingTo("1.2346");
+    }
+
+    @Test
+    void clampsOutOfRangeBoundsInsteadOfWrapping() {
+        assertThat(FundMetricsStore.toScaled(new BigDecimal("1e20"))).isEqualTo(Long.MAX_VALUE);
+        assertThat(FundMetricsStore.toScaled(new BigDecimal("-1e20"))).isEqualTo(Long.MIN_VALUE + 1);
+        // 恰好等于 Long.MIN_VALUE 的值不能与空值标记混淆
+        assertThat(FundMetricsStore.toScaled(BigDecimal.valueOf(Long.MIN_VALUE, FundMetricsStore.SCALE)))
+                .isEqualTo(Long.MIN_VALUE + 1);
+    }
+}
@@ -0,0 +1,84 @@
+package com.jntm.catalog;
+
+import com.jntm.dto.FundDTO;
+import com.jntm.entity.Fund;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 基金检索索引测试类
+ * 验证代码、名称、拼音首字母和公司检索及排序
+ *
+ * @author JNTM Team
+ * @since 1.0.0
+ */
+class FundSearchIndexTest {
+
+    private FundSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        FundCatalog catalog = FundCatalog.build(List.of(
+                fund("000001", "华夏成长混合", "华夏基金"),
+                fund("110022", "易方达消费行业股票", "易方达基金"),
+                fund("161725", "招商中证白酒指数", "招商基金"),
+                fund("000002", "华夏债券", "华夏基金")
+        ), 1L);
+
+        index = new FundSearchIndex();
+        index.rebuild(catalog, Set.of());
+    }
+
+    @Test
+    void exactCodeRanksFirst() {
+        Page<FundDTO> result = index.search("000001", PageRequest.of(0, 10));
+
+        assertThat(result.getContent()).extracting(FundDTO::getFundCode).containsExactly("000001");
+    }
+
+    @Test
+    void matchesNameSubstringAndCompany() {
+        Page<FundDTO> result = index.search("华夏", PageRequest.of(0, 10));
+
+        assertThat(result.getTotalElements()).isEqualTo(2);
+        // 名称前缀匹配，名称更短的排前
+        assertThat(result.getContent()).extracting(FundDTO::getFundCode).containsExactly("000002", "000001");
+    }
+
+    @Test
+    void matchesPinyinInitials() {
+        Page<FundDTO> result = index.search("zszzbj", PageRequest.of(0, 10));
+
+        assertThat(result.getContent()).extracting(FundDTO::getFundCode).containsExactly("161725");
+    }
+
+    @Test
+    void incrementalRebuildPicksUpChangedFunds() {
+        FundCatalog updated = FundCatalog.build(List.of(
+                fund("000001", "华夏成长精选混合", "华夏基金"),
+                fund("110022", "易方达消费行业股票", "易方达基金")
+        ), 2L);
+        index.rebuild(updated, Set.of("000001"));
+
+        assertThat(index.search("精选", PageRequest.of(0, 10)).getContent())
+                .extracting(FundDTO::getFundCode).containsExactly("000001");
+        assertThat(index.search("白酒", PageRequest.of(0, 10)).getTotalElements()).isZero();
+    }
+
+    private static Fund fund(String code, String name, String company) {
+        return Fund.builder()
+                .fundCode(code)
+                .fundName(name)
+                .fundCompany(company)
+                .fundType(Fund.FundType.HYBRID)
+                .status(Fund.FundStatus.ACTIVE)
+                .build();
+    }
+}
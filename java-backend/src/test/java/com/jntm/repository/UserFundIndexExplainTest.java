@@ -0,0 +1,185 @@
+package com.jntm.repository;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 用户持仓索引执行计划回归测试
+ * 在建表基线上执行索引迁移脚本后，验证持仓热点查询命中复合索引且不发生文件排序（无Docker时跳过）
+ *
+ * @author JNTM Team
+ * @since 1.0.0
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class UserFundIndexExplainTest {
+
+    private static final String MIGRATION = "/db/migration/V2__user_funds_composite_indexes.sql";
+
+    /**
+     * 迁移前的 user_funds 表结构
+     */
+    private static final String BASELINE_DDL = """
+            CREATE TABLE user_funds (
+                id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+                user_id BIGINT NOT NULL,
+                fund_code VARCHAR(10) NOT NULL,
+                shares DECIMAL(18,4) NOT NULL,
+                cost_price DECIMAL(10,4) NOT NULL,
+                cost_amount DECIMAL(15,2) NOT NULL,
+                current_value DECIMAL(15,2),
+                current_profit_loss DECIMAL(15,2),
+                return_rate DECIMAL(8,4),
+                purchase_date DATE NOT NULL,
+                last_buy_date DATE,
+                last_sell_date DATE,
+                dividend_amount DECIMAL(15,2),
+                status VARCHAR(20) NOT NULL,
+                notes VARCHAR(500),
+                created_at DATETIME(6) NOT NULL,
+                updated_at DATETIME(6) NOT NULL,
+                UNIQUE KEY uk_user_fund (user_id, fund_code),
+                KEY idx_user_id (user_id),
+                KEY idx_fund_code (fund_code),
+                KEY idx_purchase_date (purchase_date)
+            ) ENGINE = InnoDB
+            """;
+
+    private static final int USERS = 50;
+    private static final int HOLDINGS_PER_USER = 40;
+
+    @Container
+    private static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0");
+
+    @BeforeAll
+    static void setUpSchema() throws Exception {
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute(BASELINE_DDL);
+            for (String sql : migrationStatements()) {
+                statement.execute(sql);
+            }
+            seed(connection);
+            statement.execute("ANALYZE TABLE user_funds");
+        }
+    }
+
+    @Test
+    void topHoldingsUseValueIndex() throws SQLException {
+        Plan plan = explain("SELECT * FROM user_funds "
+                + "WHERE user_id = 7 AND status = 'HOLDING' ORDER BY current_value DESC LIMIT 5");
+
+        assertThat(plan.key()).isEqualTo("idx_user_status_value");
+        assertThat(plan.extra()).doesNotContain("Using filesort");
+    }
+
+    @Test
+    void performanceRankingUsesReturnIndex() throws SQLException {
+        Plan plan = explain("SELECT * FROM user_funds "
+                + "WHERE user_id = 7 AND status = 'HOLDING' AND return_rate IS NOT NULL ORDER BY return_rate DESC LIMIT 5");
+
+        assertThat(plan.key()).isEqualTo("idx_user_status_return");
+        assertThat(plan.extra()).doesNotContain("Using filesort");
+    }
+
+    @Test
+    void profitableHoldingsUseReturnIndex() throws SQLException {
+        Plan plan = explain("SELECT * FROM user_funds "
+                + "WHERE user_id = 7 AND return_rate >= 10 AND status = 'HOLDING'");
+
+        assertThat(plan.key()).isEqualTo("idx_user_status_return");
+    }
+
+    @Test
+    void holdingAggregatesUseUserStatusPrefix() throws SQLException {
+        Plan plan = explain("SELECT COALESCE(SUM(current_value), 0) FROM user_funds "
+                + "WHERE user_id = 7 AND status = 'HOLDING'");
+
+        assertThat(plan.key()).isEqualTo("idx_user_status_value");
+        assertThat(plan.extra()).contains("Using index");
+    }
+
+    @Test
+    void holdingKeysetPageReadsUserIdIndexInIdOrder() throws SQLException {
+        Plan plan = explain("SELECT * FROM user_funds "
+                + "WHERE user_id = 7 AND id > 250 ORDER BY id LIMIT 21");
+
+        assertThat(plan.key()).isEqualTo("idx_user_id");
+        assertThat(plan.extra()).doesNotContain("Using filesort");
+    }
+
+    @Test
+    void purchaseDateRangeUsesUserDateIndex() throws SQLException {
+        Plan plan = explain("SELECT * FROM user_funds "
+                + "WHERE user_id = 7 AND purchase_date BETWEEN '2023-03-01' AND '2023-04-30'");
+
+        assertThat(plan.key()).isEqualTo("idx_user_purchase_date");
+    }
+
+    private static Plan explain(String sql) throws SQLException {
+        try (Connection connection = connect();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("EXPLAIN " + sql)) {
+            assertThat(rs.next()).isTrue();
+            String extra = rs.getString("Extra");
+            return new Plan(rs.getString("key"), extra != null ? extra : "");
+        }
+    }
+
+    private static void seed(Connection connection) throws SQLException {
+        String sql = "INSERT INTO user_funds (user_id, fund_code, shares, cost_price, cost_amount, current_value, "
+                + "current_profit_loss, return_rate, purchase_date, status, created_at, updated_at) "
+                + "VALUES (?, ?, 1000, 1, 1000, ?, ?, ?, ?, ?, NOW(), NOW())";
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            for (int user = 1; user <= USERS; user++) {
+                for (int i = 0; i < HOLDINGS_PER_USER; i++) {
+                    int value = 500 + (user * 37 + i * 53) % 1500;
+                    ps.setLong(1, user);
+                    ps.setString(2, "%06d".formatted(i));
+                    ps.setInt(3, value);
+                    ps.setInt(4, value - 1000);
+                    ps.setDouble(5, (value - 1000) / 10.0);
+                    ps.setString(6, "2023-%02d-%02d".formatted(1 + i % 12, 1 + i % 28));
+                    ps.setString(7, i % 4 == 0 ? "SOLD" : "HOLDING");
+                    ps.addBatch();
+                }
+            }
+            ps.executeBatch();
+        }
+    }
+
+    private static String[] migrationStatements() throws IOException {
+        try (InputStream input = UserFundIndexExplainTest.class.getResourceAsStream(MIGRATION)) {
+            assertThat(input).as(MIGRATION).isNotNull();
+            String script = new String(input.readAllBytes(), StandardCharsets.UTF_8).lines()
+                    .filter(line -> !line.trim().startsWith("--"))
+                    .collect(Collectors.joining("\n"));
+            return Arrays.stream(script.split(";"))
+                    .map(String::trim)
+                    .filter(sql -> !sql.isEmpty())
+                    .toArray(String[]::new);
+        }
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(MYSQL.getJdbcUrl(), MYSQL.getUsername(), MYSQL.getPassword());
+    }
+
+    private record Plan(String key, String extra) {
+    }
+}
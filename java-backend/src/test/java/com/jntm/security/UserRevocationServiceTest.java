@@ -0,0 +1,119 @@
+package com.jntm.security;
+
+import com.jntm.utils.JwtTokenUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 用户Token吊销服务测试类
+ * 验证吊销时间点的比较精度和吊销记录的保留时长
+ *
+ * @author JNTM Team
+ * @since 1.0.0
+ */
+class UserRevocationServiceTest {
+
+    private static final long ACCESS_EXPIRATION = Duration.ofDays(1).toMillis();
+    private static final long REFRESH_EXPIRATION = Duration.ofDays(7).toMillis();
+    private static final Long USER_ID = 42L;
+
+    private ValueOperations<String, String> valueOperations;
+    private JwtTokenUtil jwtTokenUtil;
+    private UserRevocationService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        valueOperations = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+
+        jwtTokenUtil = new JwtTokenUtil();
+        ReflectionTestUtils.setField(jwtTokenUtil, "jwtSecret",
+                "test-secret-key-for-jwt-token-generation-that-is-long-enough-for-hs512-signing");
+        ReflectionTestUtils.setField(jwtTokenUtil, "jwtExpiration", ACCESS_EXPIRATION);
+        ReflectionTestUtils.setField(jwtTokenUtil, "refreshExpiration", REFRESH_EXPIRATION);
+        jwtTokenUtil.init();
+
+        service = new UserRevocationService(redisTemplate, jwtTokenUtil);
+        ReflectionTestUtils.setField(service, "revocationCheckTtl", Duration.ofSeconds(30));
+        service.init();
+    }
+
+    @Test
+    void tokensIssuedBeforeRevocationAreRejected() {
+        JwtClaims access = jwtTokenUtil.verifyAccessToken(
+                jwtTokenUtil.generateAccessToken(USER_ID, "alice", "USER", "ACTIVE"));
+        assertThat(service.isRevoked(USER_ID, access.getIssuedAt())).isFalse();
+
+        long revokedAt = revoke();
+
+        assertThat(service.isRevoked(USER_ID, access.getIssuedAt())).isTrue();
+        assertThat(service.isRevoked(USER_ID, Instant.ofEpochMilli(revokedAt))).isTrue();
+        assertThat(service.isRevoked(USER_ID, null)).isTrue();
+        assertThat(service.isRevoked(7L, access.getIssuedAt())).isFalse();
+    }
+
+    @Test
+    void tokenIssuedLaterInSameSecondIsAccepted() {
+        long revokedAt = revoke();
+
+        // 与吊销同一秒、但晚于吊销时间点签发的Token（吊销后立即重新登录）
+        assertThat(service.isRevoked(USER_ID, Instant.ofEpochMilli(revokedAt + 1))).isFalse();
+    }
+
+    @Test
+    void issuedTokensCarryMillisecondPrecision() {
+        long before = System.currentTimeMillis();
+        JwtClaims claims = jwtTokenUtil.verifyAccessToken(jwtTokenUtil.generateAccessToken(USER_ID, "alice"));
+        long after = System.currentTimeMillis();
+
+        assertThat(claims.getIssuedAt().toEpochMilli()).isBetween(before, after);
+    }
+
+    @Test
+    void refreshTokenStaysRevokedForItsWholeLifetime() {
+        JwtClaims refresh = jwtTokenUtil.verifyRefreshToken(jwtTokenUtil.generateRefreshToken(USER_ID, "alice"));
+
+        // revoke() 校验吊销记录按刷新Token有效期保留
+        revoke();
+
+        assertThat(service.isRevoked(USER_ID, refresh.getIssuedAt())).isTrue();
+    }
+
+    @Test
+    void revocationIsLoadedFromRedisOnOtherNodes() {
+        JwtClaims refresh = jwtTokenUtil.verifyRefreshToken(jwtTokenUtil.generateRefreshToken(USER_ID, "alice"));
+        long revokedAt = refresh.getIssuedAt().toEpochMilli() + 10;
+        when(valueOperations.get(anyString())).thenReturn(String.valueOf(revokedAt));
+
+        assertThat(service.isRevoked(USER_ID, refresh.getIssuedAt())).isTrue();
+        assertThat(service.isRevoked(USER_ID, Instant.ofEpochMilli(revokedAt + 1))).isFalse();
+    }
+
+    /**
+     * 吊销并返回写入Redis的吊销时间点
+     */
+    private long revoke() {
+        service.revokeUser(USER_ID);
+        ArgumentCaptor<String> value = ArgumentCaptor.forClass(String.class);
+        verify(valueOperations).set(eq("jntm:auth:revoked:" + USER_ID), value.capture(),
+                eq(REFRESH_EXPIRATION), eq(TimeUnit.MILLISECONDS));
+        return Long.parseLong(value.getValue());
+    }
+}
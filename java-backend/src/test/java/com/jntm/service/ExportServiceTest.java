@@ -0,0 +1,46 @@
+package com.jntm.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 导出服务测试类
+ * 验证CSV单元格转义和公式注入防护
+ *
+ * @author JNTM Team
+ * @since 1.0.0
+ */
+class ExportServiceTest {
+
+    @Test
+    void plainValuesAreWrittenAsIs() {
+        assertThat(ExportService.escapeCsv("张三")).isEqualTo("张三");
+        assertThat(ExportService.escapeCsv("")).isEqualTo("");
+        assertThat(ExportService.escapeCsv("a=b")).isEqualTo("a=b");
+    }
+
+    @Test
+    void quotesCommasAndNewlines() {
+        assertThat(ExportService.escapeCsv("a,b")).isEqualTo("\"a,b\"");
+        assertThat(ExportService.escapeCsv("say \"hi\"")).isEqualTo("\"say \"\"hi\"\"\"");
+        assertThat(ExportService.escapeCsv("line1\nline2")).isEqualTo("\"line1\nline2\"");
+        assertThat(ExportService.escapeCsv("line1\r\nline2")).isEqualTo("\"line1\r\nline2\"");
+    }
+
+    @Test
+    void neutralisesFormulaPrefixes() {
+        assertThat(ExportService.escapeCsv("=1+1")).isEqualTo("\"'=1+1\"");
+        assertThat(ExportService.escapeCsv("+86 138")).isEqualTo("\"'+86 138\"");
+        assertThat(ExportService.escapeCsv("-2+3")).isEqualTo("\"'-2+3\"");
+        assertThat(ExportService.escapeCsv("@SUM(A1)")).isEqualTo("\"'@SUM(A1)\"");
+        assertThat(ExportService.escapeCsv("\tcmd")).isEqualTo("\"'\tcmd\"");
+        assertThat(ExportService.escapeCsv("\rcmd")).isEqualTo("\"'\rcmd\"");
+    }
+
+    @Test
+    void neutralisedFormulaStillEscapesQuotes() {
+        assertThat(ExportService.escapeCsv("=HYPERLINK(\"http://x\",\"y\")"))
+                .isEqualTo("\"'=HYPERLINK(\"\"http://x\"\",\"\"y\"\")\"");
+    }
+}
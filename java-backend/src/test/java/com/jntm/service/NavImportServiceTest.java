@@ -0,0 +1,245 @@
+package com.jntm.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.jntm.catalog.FundCatalog;
+import com.jntm.dto.FundDTO;
+import com.jntm.dto.NavImportReport;
+import com.jntm.dto.NavRecord;
+import com.jntm.entity.Fund;
+import com.jntm.event.NavUpdatedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 净值导入服务测试类
+ * 验证CSV/JSON解析、错误记录隔离和同批次去重计数
+ *
+ * @author JNTM Team
+ * @since 1.0.0
+ */
+class NavImportServiceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private FundService fundService;
+    private ApplicationEventPublisher eventPublisher;
+    private NavImportService service;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+
+        fundService = mock(FundService.class);
+        Fund current = fund("000004");
+        current.setNav(new BigDecimal("1.5000"));
+        current.setNavDate(LocalDate.of(2024, 1, 5));
+        when(fundService.getCatalog()).thenReturn(FundCatalog.build(List.of(
+                fund("000001"), fund("000002"), fund("000003"), current
+        ), 1L));
+
+        ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+        service = new NavImportService(jdbcTemplate, fundService, objectMapper, eventPublisher,
+                new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "batchSize", 1000);
+    }
+
+    @Test
+    void importsCsvAndRejectsInvalidRows() throws Exception {
+        NavImportReport report = service.importCsv(stream(
+                "fund_code,nav,cumulative_nav,nav_date\n" +
+                "000001,1.2345,2.5000,2024-01-02\n" +
+                "999999,1.0000,,2024-01-02\n" +
+                "000002,abc,,2024-01-02\n" +
+                "\n" +
+                "000003,0.9876,,2024-01-02\n"));
+
+        assertThat(report.getTotalRecords()).isEqualTo(4);
+        assertThat(report.getAcceptedRecords()).isEqualTo(2);
+        assertThat(report.getRejectedRecords()).isEqualTo(2);
+        assertThat(report.getDuplicateRecords()).isZero();
+        assertThat(report.getBatches()).isEqualTo(1);
+        assertThat(report.getErrors()).hasSize(2);
+        assertCountsAddUp(report);
+
+        ArgumentCaptor<NavUpdatedEvent> event = ArgumentCaptor.forClass(NavUpdatedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().getFundCodes()).containsExactlyInAnyOrder("000001", "000003");
+    }
+
+    @Test
+    void malformedJsonRecordDoesNotDropFollowingRecords() throws Exception {
+        NavImportReport report = service.importJson(stream("[" +
+                "{\"fund_code\":\"000001\",\"nav\":1.1,\"nav_date\":\"2024-01-02\"}," +
+                "{\"fund_code\":\"000002\",\"nav\":\"abc\",\"nav_date\":\"2024-01-02\"}," +
+                "42," +
+                "{\"fundCode\":\"000003\",\"nav\":1.3,\"navDate\":\"2024-01-02\"}" +
+                "]"));
+
+        assertThat(report.getTotalRecords()).isEqualTo(4);
+        assertThat(report.getAcceptedRecords()).isEqualTo(2);
+        assertThat(report.getRejectedRecords()).isEqualTo(2);
+        assertThat(report.getErrors()).anyMatch(error -> error.startsWith("第2条"));
+        assertCountsAddUp(report);
+    }
+
+    @Test
+    void truncatedJsonArrayFailsButPublishesWrittenBatches() {
+        ReflectionTestUtils.setField(service, "batchSize", 1);
+
+        assertThatThrownBy(() -> service.importJson(stream("[" +
+                "{\"fund_code\":\"000001\",\"nav\":1.1,\"nav_date\":\"2024-01-02\"}," +
+                "{\"fund_code\":\"000002\",\"nav\":1.2,\"nav_date\":\"2024-01-02\"}")))
+                .isInstanceOfSatisfying(NavImportService.PartialImportException.class, ex -> {
+                    assertThat(ex.getReport().isCompleted()).isFalse();
+                    assertThat(ex.getReport().getFailure()).isNotBlank();
+                    assertThat(ex.getReport().getAcceptedRecords()).isEqualTo(2);
+                    assertThat(ex.getReport().getBatches()).isEqualTo(2);
+                });
+
+        verify(fundService).refreshCatalog();
+        ArgumentCaptor<NavUpdatedEvent> event = ArgumentCaptor.forClass(NavUpdatedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().getFundCodes()).containsExactlyInAnyOrder("000001", "000002");
+    }
+
+    @Test
+    void writeFailureKeepsEarlierBatchesAndPublishesThem() {
+        ReflectionTestUtils.setField(service, "batchSize", 1);
+        when(jdbcTemplate.batchUpdate(anyString(), any(BatchPreparedStatementSetter.class)))
+                .thenReturn(new int[]{1})
+                .thenThrow(new DataAccessResourceFailureException("连接中断"));
+
+        assertThatThrownBy(() -> service.importCsv(stream(
+                "fund_code,nav,nav_date\n" +
+                "000001,1.0000,2024-01-02\n" +
+                "000002,1.1000,2024-01-02\n" +
+                "000003,1.2000,2024-01-02\n")))
+                .isInstanceOfSatisfying(NavImportService.PartialImportException.class, ex -> {
+                    assertThat(ex.getCause()).isInstanceOf(DataAccessResourceFailureException.class);
+                    assertThat(ex.getReport().getAcceptedRecords()).isEqualTo(1);
+                    assertThat(ex.getReport().getBatches()).isEqualTo(1);
+                });
+
+        verify(fundService).refreshCatalog();
+        ArgumentCaptor<NavUpdatedEvent> event = ArgumentCaptor.forClass(NavUpdatedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().getFundCodes()).containsExactly("000001");
+    }
+
+    @Test
+    void failureBeforeAnyBatchPublishesNothing() {
+        assertThatThrownBy(() -> service.importCsv(stream("nav,nav_date\n1.0,2024-01-02\n")))
+                .isInstanceOfSatisfying(NavImportService.PartialImportException.class, ex ->
+                        assertThat(ex.getCause()).isInstanceOf(IllegalArgumentException.class));
+
+        verify(fundService, never()).refreshCatalog();
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void duplicatesInBatchKeepLatestNavDateAndAreCounted() throws Exception {
+        NavImportReport report = service.importCsv(stream(
+                "fund_code,nav,nav_date\n" +
+                "000001,1.0000,2024-01-02\n" +
+                "000001,1.2000,2024-01-04\n" +
+                "000001,1.1000,2024-01-03\n"));
+
+        assertThat(report.getTotalRecords()).isEqualTo(3);
+        assertThat(report.getAcceptedRecords()).isEqualTo(1);
+        assertThat(report.getDuplicateRecords()).isEqualTo(2);
+        assertCountsAddUp(report);
+
+        ArgumentCaptor<BatchPreparedStatementSetter> setter = ArgumentCaptor.forClass(BatchPreparedStatementSetter.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), setter.capture());
+        assertThat(setter.getValue().getBatchSize()).isEqualTo(1);
+
+        PreparedStatement ps = mock(PreparedStatement.class);
+        setter.getValue().setValues(ps, 0);
+        verify(ps).setBigDecimal(eq(6), eq(new BigDecimal("1.2000")));
+        verify(ps).setDate(eq(8), any());
+    }
+
+    @Test
+    void staleOrIdenticalRecordsAreWrittenButDoNotTriggerUpdates() throws Exception {
+        NavImportReport report = service.importCsv(stream(
+                "fund_code,nav,nav_date\n" +
+                "000004,1.4000,2024-01-04\n" +
+                "000001,1.0000,2024-01-02\n"));
+
+        assertThat(report.getAcceptedRecords()).isEqualTo(2);
+        assertThat(report.getUnchangedRecords()).isEqualTo(1);
+
+        ArgumentCaptor<NavUpdatedEvent> event = ArgumentCaptor.forClass(NavUpdatedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().getFundCodes()).containsExactly("000001");
+    }
+
+    @Test
+    void changesNavFollowsUpsertGuard() {
+        FundDTO fund = FundDTO.builder()
+                .nav(new BigDecimal("1.5000"))
+                .navDate(LocalDate.of(2024, 1, 5))
+                .build();
+
+        assertThat(NavImportService.changesNav(record("1.5", LocalDate.of(2024, 1, 6)), fund)).isTrue();
+        assertThat(NavImportService.changesNav(record("1.5", LocalDate.of(2024, 1, 4)), fund)).isFalse();
+        assertThat(NavImportService.changesNav(record("1.50", LocalDate.of(2024, 1, 5)), fund)).isFalse();
+        // 同日更正净值
+        assertThat(NavImportService.changesNav(record("1.6", LocalDate.of(2024, 1, 5)), fund)).isTrue();
+        assertThat(NavImportService.changesNav(record("1.5", LocalDate.of(2024, 1, 5)),
+                FundDTO.builder().build())).isTrue();
+    }
+
+    private static NavRecord record(String nav, LocalDate navDate) {
+        NavRecord record = new NavRecord();
+        record.setFundCode("000004");
+        record.setNav(new BigDecimal(nav));
+        record.setNavDate(navDate);
+        return record;
+    }
+
+    private static void assertCountsAddUp(NavImportReport report) {
+        assertThat(report.getAcceptedRecords() + report.getRejectedRecords() + report.getDuplicateRecords())
+                .isEqualTo(report.getTotalRecords());
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Fund fund(String code) {
+        return Fund.builder()
+                .fundCode(code)
+                .fundName("基金" + code)
+                .fundCompany("测试基金")
+                .fundType(Fund.FundType.HYBRID)
+                .status(Fund.FundStatus.ACTIVE)
+                .build();
+    }
+}
@@ -0,0 +1,149 @@
+package com.jntm.service;
+
+import com.jntm.catalog.FundCatalog;
+import com.jntm.entity.Fund;
+import com.jntm.event.PortfolioRevaluedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 持仓重估服务测试类
+ * 验证定点数市值、收益率计算及并发修改时的重新计算
+ *
+ * @author JNTM Team
+ * @since 1.0.0
+ */
+class PortfolioRevaluationServiceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private ApplicationEventPublisher eventPublisher;
+    private PortfolioRevaluationService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<Object>>getArgument(0).doInTransaction(null));
+
+        FundService fundService = mock(FundService.class);
+        when(fundService.getCatalog()).thenReturn(FundCatalog.build(List.of(Fund.builder()
+                .fundCode("000001")
+                .fundName("测试基金")
+                .fundType(Fund.FundType.HYBRID)
+                .status(Fund.FundStatus.ACTIVE)
+                .nav(new BigDecimal("1.5000"))
+                .build()), 1L));
+
+        service = new PortfolioRevaluationService(jdbcTemplate, transactionTemplate, fundService,
+                eventPublisher, new SimpleMeterRegistry(), 1);
+        ReflectionTestUtils.setField(service, "batchSize", 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void currentValueRoundsToCents() {
+        // 1000.0000份 × 1.2345 = 1234.50
+        assertThat(PortfolioRevaluationService.currentValueCents(10_000_000L, 12_345L)).isEqualTo(123_450L);
+        // 0.0001份 × 0.5000 = 0.00005，四舍五入为0.00
+        assertThat(PortfolioRevaluationService.currentValueCents(1L, 5_000L)).isEqualTo(0L);
+        // 0.0003份 × 0.5000 = 0.00015，四舍五入为0.01
+        assertThat(PortfolioRevaluationService.currentValueCents(3L, 5_000L)).isEqualTo(1L);
+    }
+
+    @Test
+    void currentValueFallsBackToBigDecimalOnOverflow() {
+        long shares = Long.MAX_VALUE / 1000;
+        long nav = 20_000L;
+        long expected = BigDecimal.valueOf(shares, 4).multiply(BigDecimal.valueOf(nav, 4))
+                .setScale(2, java.math.RoundingMode.HALF_UP).unscaledValue().longValueExact();
+
+        assertThat(PortfolioRevaluationService.currentValueCents(shares, nav)).isEqualTo(expected);
+    }
+
+    @Test
+    void returnRateIsPercentScaledByTenThousand() {
+        // 盈利 12.34 / 成本 100.00 = 12.34%
+        assertThat(PortfolioRevaluationService.returnRate(1_234L, 10_000L)).isEqualTo(123_400L);
+        // 亏损 1.00 / 成本 3.00 = -33.3333%
+        assertThat(PortfolioRevaluationService.returnRate(-100L, 300L)).isEqualTo(-333_333L);
+        // 2.00 / 3.00 = 66.66667% 四舍五入
+        assertThat(PortfolioRevaluationService.returnRate(200L, 300L)).isEqualTo(666_667L);
+    }
+
+    @Test
+    void returnRateIsNullForZeroCostAndClampedToColumnRange() {
+        assertThat(PortfolioRevaluationService.returnRate(100L, 0L)).isEqualTo(Long.MIN_VALUE);
+        assertThat(PortfolioRevaluationService.returnRate(Long.MAX_VALUE / 2, 1L)).isEqualTo(99_999_999L);
+        assertThat(PortfolioRevaluationService.returnRate(-Long.MAX_VALUE / 2, 1L)).isEqualTo(-99_999_999L);
+    }
+
+    @Test
+    void holdingModifiedDuringRevaluationIsReloadedInsteadOfOverwritten() throws Exception {
+        AtomicInteger reads = new AtomicInteger();
+        doAnswer(invocation -> {
+            // 第一次读取 100份，第二次读取时已被修改为 200份
+            BigDecimal shares = reads.incrementAndGet() == 1 ? new BigDecimal("100.0000") : new BigDecimal("200.0000");
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.getLong("id")).thenReturn(1L);
+            when(rs.getLong("user_id")).thenReturn(7L);
+            when(rs.getBigDecimal("shares")).thenReturn(shares);
+            when(rs.getBigDecimal("cost_amount")).thenReturn(new BigDecimal("100.00"));
+            invocation.<RowCallbackHandler>getArgument(1).processRow(rs);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), eq("000001"));
+
+        // 第一次写入未匹配（份额已变化），第二次写入成功
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[]{0}, new int[]{1});
+
+        int updated = service.revalue(List.of("000001"));
+
+        assertThat(updated).isEqualTo(1);
+        assertThat(reads.get()).isEqualTo(2);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> args = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), args.capture());
+        Object[] retried = args.getAllValues().get(1).get(0);
+        // 按新份额计算：200 × 1.5 = 300.00，条件中带上新份额和成本
+        assertThat((BigDecimal) retried[0]).isEqualByComparingTo("300.00");
+        assertThat((BigDecimal) retried[5]).isEqualByComparingTo("200.0000");
+        assertThat((BigDecimal) retried[6]).isEqualByComparingTo("100.00");
+
+        ArgumentCaptor<PortfolioRevaluedEvent> event = ArgumentCaptor.forClass(PortfolioRevaluedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().getUserIds()).containsExactly(7L);
+    }
+}
@@ -0,0 +1,159 @@
+package com.jntm.service;
+
+import com.jntm.cache.CacheNames;
+import com.jntm.cache.PortfolioCacheInvalidator;
+import com.jntm.catalog.FundCatalog;
+import com.jntm.dto.PortfolioDistributionDTO;
+import com.jntm.dto.PortfolioSnapshot;
+import com.jntm.dto.PortfolioSummaryDTO;
+import com.jntm.entity.Fund;
+import com.jntm.entity.UserFund;
+import com.jntm.repository.UserFundRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * 用户持仓服务测试类
+ * 验证持仓汇总由一次分组查询折叠得到，且与持仓快照中的汇总一致
+ *
+ * @author JNTM Team
+ * @since 1.0.0
+ */
+class PortfolioServiceTest {
+
+    private static final Long USER_ID = 7L;
+
+    private UserFundRepository userFundRepository;
+    private CacheManager cacheManager;
+    private PortfolioService service;
+
+    @BeforeEach
+    void setUp() {
+        userFundRepository = mock(UserFundRepository.class);
+        cacheManager = mock(CacheManager.class);
+
+        FundService fundService = mock(FundService.class);
+        when(fundService.getCatalog()).thenReturn(FundCatalog.build(List.of(
+                fund("000001", Fund.FundType.HYBRID, "甲基金"),
+                fund("000002", Fund.FundType.BOND, "甲基金")
+        ), 1L));
+
+        // 000003 不在基金目录中，归入 UNKNOWN 分组
+        List<UserFundRepository.HoldingGroupView> groups = List.of(
+                group("000001", "100.00", "80.00", "20.00"),
+                group("000002", "50.00", "60.00", "-10.00"),
+                group("000003", "30.00", "30.00", "0.00")
+        );
+        List<UserFund> holdings = List.of(
+                holding(1L, "000001", "100.00", "80.00", "20.00"),
+                holding(2L, "000002", "50.00", "60.00", "-10.00"),
+                holding(3L, "000003", "30.00", "30.00", "0.00")
+        );
+        when(userFundRepository.summarizeHoldingsByFundCode(USER_ID)).thenReturn(groups);
+        when(userFundRepository.findByUserIdAndStatus(USER_ID, UserFund.HoldingStatus.HOLDING)).thenReturn(holdings);
+
+        service = new PortfolioService(userFundRepository, fundService, cacheManager);
+    }
+
+    @Test
+    void summaryIsFoldedFromOneGroupedQuery() {
+        PortfolioSummaryDTO summary = service.getSummary(USER_ID);
+
+        assertThat(summary.getTotalValue()).isEqualByComparingTo("180.00");
+        assertThat(summary.getTotalCost()).isEqualByComparingTo("170.00");
+        assertThat(summary.getTotalProfitLoss()).isEqualByComparingTo("10.00");
+        assertThat(summary.getTotalReturnRate()).isEqualByComparingTo("5.8824");
+        assertThat(summary.getHoldingCount()).isEqualTo(3L);
+        assertThat(summary.getDistributionByType())
+                .extracting(PortfolioSummaryDTO.Allocation::getName)
+                .containsExactly("HYBRID", "BOND", PortfolioService.UNKNOWN_GROUP);
+        assertThat(summary.getDistributionByType().get(0).getRatio()).isEqualByComparingTo("55.56");
+        assertThat(summary.getDistributionByCompany())
+                .extracting(PortfolioSummaryDTO.Allocation::getName)
+                .containsExactly("甲基金", PortfolioService.UNKNOWN_GROUP);
+
+        verify(userFundRepository).summarizeHoldingsByFundCode(USER_ID);
+        verify(userFundRepository, never()).findByUserIdAndStatus(anyLong(), any());
+    }
+
+    @Test
+    void groupedSummaryMatchesSnapshotSummary() {
+        PortfolioSummaryDTO grouped = service.getSummary(USER_ID);
+        PortfolioSnapshot snapshot = service.buildSnapshot(USER_ID);
+
+        assertThat(grouped).isEqualTo(snapshot.getSummary());
+    }
+
+    @Test
+    void distributionComesFromTheSameGroupedQuery() {
+        PortfolioDistributionDTO distribution = service.getDistribution(USER_ID);
+        PortfolioSummaryDTO summary = service.getSummary(USER_ID);
+
+        assertThat(distribution.getTotalValue()).isEqualByComparingTo("180.00");
+        assertThat(distribution.getByType()).isEqualTo(summary.getDistributionByType());
+        assertThat(distribution.getByCompany()).isEqualTo(summary.getDistributionByCompany());
+        verify(userFundRepository, never()).findByUserIdAndStatus(anyLong(), any());
+    }
+
+    @Test
+    void cachedSnapshotIsReusedWithoutQuerying() {
+        PortfolioSnapshot snapshot = service.buildSnapshot(USER_ID);
+        Cache cache = mock(Cache.class);
+        when(cacheManager.getCache(CacheNames.PORTFOLIO_SNAPSHOT)).thenReturn(cache);
+        when(cache.get(PortfolioCacheInvalidator.snapshotKey(USER_ID), PortfolioSnapshot.class)).thenReturn(snapshot);
+
+        UserFundRepository untouched = mock(UserFundRepository.class);
+        FundService fundService = mock(FundService.class);
+        PortfolioService cached = new PortfolioService(untouched, fundService, cacheManager);
+
+        assertThat(cached.getSummary(USER_ID)).isSameAs(snapshot.getSummary());
+        verifyNoInteractions(untouched, fundService);
+    }
+
+    private static UserFundRepository.HoldingGroupView group(String fundCode, String value, String cost,
+                                                              String profitLoss) {
+        UserFundRepository.HoldingGroupView group = mock(UserFundRepository.HoldingGroupView.class);
+        when(group.getFundCode()).thenReturn(fundCode);
+        when(group.getTotalValue()).thenReturn(new BigDecimal(value));
+        when(group.getTotalCost()).thenReturn(new BigDecimal(cost));
+        when(group.getTotalProfitLoss()).thenReturn(new BigDecimal(profitLoss));
+        when(group.getHoldingCount()).thenReturn(1L);
+        return group;
+    }
+
+    private static UserFund holding(Long id, String fundCode, String value, String cost, String profitLoss) {
+        return UserFund.builder()
+                .id(id)
+                .userId(USER_ID)
+                .fundCode(fundCode)
+                .currentValue(new BigDecimal(value))
+                .costAmount(new BigDecimal(cost))
+                .currentProfitLoss(new BigDecimal(profitLoss))
+                .status(UserFund.HoldingStatus.HOLDING)
+                .build();
+    }
+
+    private static Fund fund(String code, Fund.FundType type, String company) {
+        return Fund.builder()
+                .fundCode(code)
+                .fundName("基金" + code)
+                .fundCompany(company)
+                .fundType(type)
+                .status(Fund.FundStatus.ACTIVE)
+                .build();
+    }
+}
@@ -0,0 +1,111 @@
+package com.jntm.utils;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 按键并发限制测试类
+ * 验证名额占用与释放，以及流在订阅时占用、结束或取消时释放名额
+ *
+ * @author JNTM Team
+ * @since 1.0.0
+ */
+class PerKeyLimiterTest {
+
+    private final PerKeyLimiter<Long> limiter = new PerKeyLimiter<>(2);
+
+    @Test
+    void acquiresUpToLimitPerKey() {
+        assertThat(limiter.tryAcquire(1L)).isTrue();
+        assertThat(limiter.tryAcquire(1L)).isTrue();
+        assertThat(limiter.tryAcquire(1L)).isFalse();
+        assertThat(limiter.tryAcquire(2L)).isTrue();
+        assertThat(limiter.active(1L)).isEqualTo(2);
+
+        limiter.release(1L);
+        assertThat(limiter.active(1L)).isEqualTo(1);
+        assertThat(limiter.tryAcquire(1L)).isTrue();
+    }
+
+    @Test
+    void releaseOfIdleKeyIsIgnored() {
+        limiter.release(1L);
+        assertThat(limiter.active(1L)).isZero();
+
+        limiter.tryAcquire(1L);
+        limiter.release(1L);
+        limiter.release(1L);
+        assertThat(limiter.active(1L)).isZero();
+        assertThat(limiter.tryAcquire(1L)).isTrue();
+    }
+
+    @Test
+    void unsubscribedStreamHoldsNoSlot() {
+        for (int i = 0; i < 5; i++) {
+            limiter.limit(1L, Flux.never(), IllegalStateException::new);
+        }
+
+        assertThat(limiter.active(1L)).isZero();
+    }
+
+    @Test
+    void slotIsHeldForSubscriptionAndReleasedOnCancel() {
+        Disposable first = limiter.limit(1L, Flux.never(), IllegalStateException::new).subscribe();
+        Disposable second = limiter.limit(1L, Flux.never(), IllegalStateException::new).subscribe();
+        assertThat(limiter.active(1L)).isEqualTo(2);
+
+        first.dispose();
+        assertThat(limiter.active(1L)).isEqualTo(1);
+        second.dispose();
+        assertThat(limiter.active(1L)).isZero();
+    }
+
+    @Test
+    void slotIsReleasedOnCompleteAndError() {
+        List<String> values = limiter.limit(1L, Flux.just("a", "b"), IllegalStateException::new)
+                .collectList()
+                .block();
+        assertThat(values).containsExactly("a", "b");
+        assertThat(limiter.active(1L)).isZero();
+
+        Flux<String> failing = limiter.limit(1L, Flux.error(new IllegalArgumentException("boom")),
+                IllegalStateException::new);
+        assertThatThrownBy(failing::blockLast).isInstanceOf(IllegalArgumentException.class);
+        assertThat(limiter.active(1L)).isZero();
+    }
+
+    @Test
+    void subscriptionOverLimitFailsWithoutTouchingHeldSlots() {
+        Sinks.Many<String> upstream = Sinks.many().multicast().directBestEffort();
+        Flux<String> stream = limiter.limit(1L, upstream.asFlux(), () -> new IllegalStateException("limit"));
+        stream.subscribe();
+        stream.subscribe();
+
+        AtomicReference<Throwable> rejected = new AtomicReference<>();
+        stream.subscribe(value -> { }, rejected::set);
+
+        assertThat(rejected.get()).isInstanceOf(IllegalStateException.class).hasMessage("limit");
+        assertThat(limiter.active(1L)).isEqualTo(2);
+
+        upstream.tryEmitComplete();
+        assertThat(limiter.active(1L)).isZero();
+    }
+
+    @Test
+    void sameFluxCanBeResubscribedAfterRelease() {
+        Flux<String> stream = limiter.limit(1L, Flux.just("a"), IllegalStateException::new);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(stream.blockLast()).isEqualTo("a");
+        }
+        assertThat(limiter.active(1L)).isZero();
+    }
+}
@@ -0,0 +1,186 @@
+package com.jntm.utils;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 请求合并工具测试类
+ * 验证同键请求只订阅一次上游，以及上游结束后立即移除该键、不复用已结束的请求
+ *
+ * @author JNTM Team
+ * @since 1.0.0
+ */
+class SingleFlightTest {
+
+    private final SingleFlight<String, String> flights = new SingleFlight<>();
+
+    private final AtomicInteger subscriptions = new AtomicInteger();
+
+    @Test
+    void callersOfSameKeyShareOneUpstreamSubscription() {
+        Sinks.One<String> upstream = Sinks.one();
+        AtomicReference<String> first = new AtomicReference<>();
+        AtomicReference<String> second = new AtomicReference<>();
+
+        flights.execute("k", counting(upstream::asMono)).subscribe(first::set);
+        flights.execute("k", counting(upstream::asMono)).subscribe(second::set);
+
+        assertThat(subscriptions.get()).isEqualTo(1);
+        assertThat(flights.isInFlight("k")).isTrue();
+
+        upstream.tryEmitValue("v");
+
+        assertThat(first.get()).isEqualTo("v");
+        assertThat(second.get()).isEqualTo("v");
+        assertThat(flights.size()).isZero();
+    }
+
+    @Test
+    void differentKeysDoNotShare() {
+        flights.execute("a", counting(() -> Mono.never())).subscribe();
+        flights.execute("b", counting(() -> Mono.never())).subscribe();
+
+        assertThat(subscriptions.get()).isEqualTo(2);
+        assertThat(flights.size()).isEqualTo(2);
+    }
+
+    @Test
+    void concurrentCallersJoinOneUpstreamCall() throws Exception {
+        int threads = 8;
+        Supplier<Mono<String>> supplier = counting(() -> Mono.just("v").delayElement(Duration.ofMillis(500)));
+        CyclicBarrier barrier = new CyclicBarrier(threads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    barrier.await();
+                    return flights.execute("k", supplier).block(Duration.ofSeconds(5));
+                }));
+            }
+            for (Future<String> result : results) {
+                assertThat(result.get()).isEqualTo("v");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(subscriptions.get()).isEqualTo(1);
+        assertThat(flights.size()).isZero();
+    }
+
+    @Test
+    void keyIsRemovedBeforeSuccessIsDelivered() {
+        AtomicBoolean inFlightDuringCallback = new AtomicBoolean(true);
+        AtomicReference<String> late = new AtomicReference<>();
+        Supplier<Mono<String>> supplier = counting(() -> Mono.just("v" + subscriptions.get()));
+
+        flights.execute("k", supplier).subscribe(value -> {
+            inFlightDuringCallback.set(flights.isInFlight("k"));
+            // 结果回调中发起的同键调用不能加入已结束的请求
+            flights.execute("k", supplier).subscribe(late::set);
+        });
+
+        assertThat(inFlightDuringCallback.get()).isFalse();
+        assertThat(late.get()).isEqualTo("v2");
+        assertThat(subscriptions.get()).isEqualTo(2);
+        assertThat(flights.size()).isZero();
+    }
+
+    @Test
+    void keyIsRemovedBeforeErrorIsDelivered() {
+        AtomicBoolean inFlightDuringCallback = new AtomicBoolean(true);
+
+        flights.execute("k", counting(() -> Mono.error(new IllegalStateException("boom"))))
+                .subscribe(value -> { }, error -> inFlightDuringCallback.set(flights.isInFlight("k")));
+
+        assertThat(inFlightDuringCallback.get()).isFalse();
+        assertThat(flights.size()).isZero();
+
+        // 失败不被缓存，之后的调用重新请求上游
+        assertThat(flights.execute("k", counting(() -> Mono.just("ok"))).block()).isEqualTo("ok");
+        assertThat(subscriptions.get()).isEqualTo(2);
+    }
+
+    @Test
+    void errorIsDeliveredToAllJoinedCallers() {
+        Sinks.One<String> upstream = Sinks.one();
+        AtomicReference<Throwable> firstError = new AtomicReference<>();
+        AtomicReference<Throwable> secondError = new AtomicReference<>();
+        flights.execute("k", counting(upstream::asMono)).subscribe(value -> { }, firstError::set);
+        flights.execute("k", counting(upstream::asMono)).subscribe(value -> { }, secondError::set);
+
+        upstream.tryEmitError(new IllegalStateException("boom"));
+
+        assertThat(firstError.get()).isInstanceOf(IllegalStateException.class);
+        assertThat(secondError.get()).isInstanceOf(IllegalStateException.class);
+        assertThat(subscriptions.get()).isEqualTo(1);
+        assertThat(flights.size()).isZero();
+    }
+
+    @Test
+    void keyIsRemovedWhenAllCallersCancel() {
+        AtomicBoolean upstreamCancelled = new AtomicBoolean();
+        Supplier<Mono<String>> supplier = counting(() -> Mono.<String>never()
+                .doOnCancel(() -> upstreamCancelled.set(true)));
+
+        Disposable first = flights.execute("k", supplier).subscribe();
+        Disposable second = flights.execute("k", supplier).subscribe();
+        first.dispose();
+        assertThat(flights.isInFlight("k")).isTrue();
+        assertThat(upstreamCancelled.get()).isFalse();
+
+        second.dispose();
+        assertThat(upstreamCancelled.get()).isTrue();
+        assertThat(flights.isInFlight("k")).isFalse();
+
+        // 取消后的调用重新请求上游，而不是加入已取消的请求
+        flights.execute("k", supplier).subscribe();
+        assertThat(subscriptions.get()).isEqualTo(2);
+        assertThat(flights.isInFlight("k")).isTrue();
+    }
+
+    @Test
+    void completedFlightIsNotReused() {
+        Supplier<Mono<String>> supplier = counting(() -> Mono.fromCallable(() -> "v" + subscriptions.get()));
+
+        assertThat(flights.execute("k", supplier).block()).isEqualTo("v1");
+        assertThat(flights.isInFlight("k")).isFalse();
+        assertThat(flights.execute("k", supplier).block()).isEqualTo("v2");
+        assertThat(subscriptions.get()).isEqualTo(2);
+    }
+
+    @Test
+    void unsubscribedCallDoesNotRegisterKey() {
+        flights.execute("k", counting(() -> Mono.just("v")));
+
+        assertThat(flights.isInFlight("k")).isFalse();
+        assertThat(subscriptions.get()).isZero();
+    }
+
+    /**
+     * 记录上游被订阅的次数
+     */
+    private Supplier<Mono<String>> counting(Supplier<Mono<String>> upstream) {
+        return () -> Mono.defer(() -> {
+            subscriptions.incrementAndGet();
+            return upstream.get();
+        });
+    }
+}
@@ -10,9 +10,11 @@ FastAPI应用主入口
 
 from fastapi import FastAPI, HTTPException
 from fastapi.middleware.cors import CORSMiddleware
-from fastapi.responses import JSONResponse
+from fastapi.responses import JSONResponse, StreamingResponse
 from pydantic import BaseModel
 from typing import Dict, Any, List, Optional
+import asyncio
+import json
 import time
 import os
 
@@ -108,6 +110,22 @@ async def chat_with_ai(request: Dict[str, Any]):
             "message": f"AI对话失败: {str(e)}"
         }
 
+@app.post("/api/v1/ai/chat/stream")
+async def stream_chat_with_ai(request: Dict[str, Any]):
+    """与AI流式对话（模拟，Server-Sent Events）"""
+    message = request.get("message", "")
+    theme = request.get("theme", "general")
+    response = f"你好！我是基于{theme}主题的AI助手。您的问题是：{message}。作为基你太美智能基金管家，我建议您根据自己的风险承受能力和投资目标来制定投资策略。"
+
+    async def event_stream():
+        for start in range(0, len(response), 8):
+            yield f"data: {json.dumps({'delta': response[start:start + 8]}, ensure_ascii=False)}\n\n"
+            await asyncio.sleep(0.05)
+        yield "event: done\ndata: {}\n\n"
+
+    return StreamingResponse(event_stream(), media_type="text/event-stream",
+                             headers={"Cache-Control": "no-cache", "X-Accel-Buffering": "no"})
+
 @app.get("/api/v1/ai/models")
 async def get_available_models():
     """获取可用的AI模型列表"""
@@ -3,7 +3,9 @@ AI分析API路由
 """
 
 from fastapi import APIRouter, HTTPException, Depends
-from fastapi.responses import JSONResponse
+from fastapi.responses import JSONResponse, StreamingResponse
+from typing import Dict, Any
+import json
 import time
 
 from app.models.request_models import AIAnalysisRequest
@@ -112,6 +114,37 @@ async def chat_with_ai(
         raise HTTPException(status_code=500, detail=f"AI对话失败: {str(e)}")
 
 
+@router.post("/chat/stream")
+async def stream_chat_with_ai(request: Dict[str, Any]):
+    """
+    与AI流式对话（Server-Sent Events）
+
+    每段生成文本作为一个 data 事件发送（{"delta": "..."}），结束时发送 done 事件，
+    出错时发送 error 事件；客户端断开后停止生成
+    """
+    message = request.get("message", "")
+    user_id = request.get("user_id", 0)
+    theme = request.get("theme", "general")
+
+    logger.info(f"收到AI流式对话请求: 用户ID={user_id}, 主题={theme}")
+    ai_service = AIService()
+
+    async def event_stream():
+        try:
+            async for chunk in ai_service.stream_chat(message=message, user_id=user_id, theme=theme):
+                yield f"data: {json.dumps({'delta': chunk}, ensure_ascii=False)}\n\n"
+            yield "event: done\ndata: {}\n\n"
+        except Exception as e:
+            logger.error(f"AI流式对话失败: {str(e)}")
+            yield f"event: error\ndata: {json.dumps({'message': str(e)}, ensure_ascii=False)}\n\n"
+
+    return StreamingResponse(
+        event_stream(),
+        media_type="text/event-stream",
+        headers={"Cache-Control": "no-cache", "X-Accel-Buffering": "no"}
+    )
+
+
 @router.get("/health")
 async def ai_service_health():
     """AI服务健康检查"""
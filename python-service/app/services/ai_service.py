@@ -4,7 +4,7 @@ AI分析服务
 
 import asyncio
 import time
-from typing import Dict, Any, List
+from typing import Dict, Any, List, AsyncIterator
 import httpx
 from openai import AsyncOpenAI
 
@@ -126,6 +126,29 @@ class AIService:
             logger.error(f"AI对话失败: {str(e)}")
             raise
 
+    async def stream_chat(
+        self,
+        message: str,
+        user_id: int,
+        theme: str = "general"
+    ) -> AsyncIterator[str]:
+        """
+        与AI流式对话
+
+        Args:
+            message: 用户消息
+            user_id: 用户ID
+            theme: 对话主题
+
+        Yields:
+            模型逐段生成的文本
+        """
+        logger.info(f"AI流式对话: 用户ID={user_id}, 主题={theme}")
+
+        prompt = self._build_chat_prompt(message, theme)
+        async for chunk in self._stream_ai_model(prompt):
+            yield chunk
+
     async def get_available_models(self) -> List[str]:
         """获取可用的AI模型列表"""
         models = []
@@ -236,6 +259,43 @@ class AIService:
 
         raise Exception("所有AI模型都不可用")
 
+    async def _stream_ai_model(self, prompt: str) -> AsyncIterator[str]:
+        """流式调用AI模型（优先DeepSeek，尚未输出内容前失败时切换Qwen）"""
+        candidates = []
+        if self.deepseek_client:
+            candidates.append((self.deepseek_client, "deepseek-chat"))
+        if self.qwen_client:
+            candidates.append((self.qwen_client, "qwen-turbo"))
+
+        for client, model in candidates:
+            started = False
+            try:
+                stream = await client.chat.completions.create(
+                    model=model,
+                    messages=[
+                        {"role": "system", "content": "你是一个专业的投资分析师"},
+                        {"role": "user", "content": prompt}
+                    ],
+                    max_tokens=settings.MAX_TOKENS,
+                    temperature=settings.TEMPERATURE,
+                    stream=True
+                )
+                async for event in stream:
+                    if not event.choices:
+                        continue
+                    content = event.choices[0].delta.content
+                    if content:
+                        started = True
+                        yield content
+                return
+            except Exception as e:
+                # 已输出部分内容时不能再切换模型，直接报错
+                if started:
+                    raise
+                logger.warning(f"{model}流式调用失败，尝试使用备用模型: {e}")
+
+        raise Exception("所有AI模型都不可用")
+
     def _parse_ai_response(self, response: str) -> Dict[str, Any]:
         """解析AI响应"""
         try: